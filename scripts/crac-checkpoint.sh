@@ -0,0 +1,15 @@
+#!/bin/sh
+# Creates trackfolio:crac-restore from trackfolio:crac by starting it once and committing the
+# checkpoint it writes. Pass the same environment the service runs with, e.g.
+#   scripts/crac-checkpoint.sh --env-file prod.env
+# Run the result with: docker run --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE ... trackfolio:crac-restore
+set -e
+
+docker rm -f trackfolio-checkpoint >/dev/null 2>&1 || true
+
+# Checkpointing needs more privileges than restoring
+docker run --privileged --name trackfolio-checkpoint "$@" trackfolio:crac || true
+
+docker commit trackfolio-checkpoint trackfolio:crac-restore
+docker rm trackfolio-checkpoint >/dev/null
+echo "Created trackfolio:crac-restore"
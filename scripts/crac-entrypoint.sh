@@ -0,0 +1,13 @@
+#!/bin/sh
+# Restores from /crac when a checkpoint exists, otherwise starts normally, checkpoints once the
+# context is refreshed and exits (scripts/crac-checkpoint.sh commits the result as a new image).
+# Configuration is resolved before the checkpoint: a restored image runs with the environment
+# it was checkpointed with, so create it where it runs and keep it out of public registries.
+set -e
+
+if [ -n "$(ls -A /crac 2>/dev/null)" ]; then
+    exec java -XX:CRaCRestoreFrom=/crac
+fi
+
+exec java -XX:CRaCCheckpointTo=/crac -Dspring.context.checkpoint=onRefresh -Dspring.aot.enabled=true \
+    -jar /app/trackfolio.jar
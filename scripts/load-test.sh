@@ -0,0 +1,37 @@
+#!/bin/sh
+# Highest sustainable concurrency of /chat and /drives/fetch/{id}, platform vs virtual threads.
+# Start the app once per mode against the same database and AI core, then run this script for each:
+#   VIRTUAL_THREADS=false java -jar target/trackfolio-0.0.1-SNAPSHOT.jar   ->  scripts/load-test.sh platform
+#   VIRTUAL_THREADS=true  java -jar target/trackfolio-0.0.1-SNAPSHOT.jar   ->  scripts/load-test.sh virtual
+# Needs hey (https://github.com/rakyll/hey), an existing account and one of its drives:
+#   EMAIL=... PASSWORD=... DRIVE_ID=... scripts/load-test.sh virtual
+# Raise app.rate-limit routes for the test user or /chat is capped at 10 requests a minute.
+# Compare the per-level error rates and p99s; at the same Hikari pool size the virtual-thread
+# run should fail later and at the pool, not at Tomcat's 200 threads.
+set -e
+
+MODE=${1:?usage: load-test.sh <label>}
+BASE=${BASE:-http://localhost:8080}
+DURATION=${DURATION:-30s}
+LEVELS=${LEVELS:-"50 100 200 400 800"}
+
+TOKEN=$(curl -sf -X POST -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" "$BASE/auth/login" | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+[ -n "$TOKEN" ] || { echo "login failed" >&2; exit 1; }
+
+run() {
+    name=$1
+    shift
+    for c in $LEVELS; do
+        out=$(hey -z "$DURATION" -c "$c" -H "Authorization: Bearer $TOKEN" "$@")
+        rps=$(echo "$out" | awk '/Requests\/sec/ {print $2}')
+        p99=$(echo "$out" | awk '/99% in/ {print $3}')
+        ok=$(echo "$out" | awk '/\[200\]/ {print $2}')
+        failed=$(echo "$out" | awk '/\[[45][0-9][0-9]\]/ {n += $2} END {print n + 0}')
+        errors=$(echo "$out" | awk '/Error distribution/ {e = 1; next} e && /\[/ {n += $1} END {print n + 0}')
+        echo "$MODE $name concurrency=$c rps=$rps p99_s=$p99 ok=${ok:-0} http_errors=$failed connection_errors=$errors"
+    done
+}
+
+run drives-fetch "$BASE/drives/fetch/$DRIVE_ID"
+run chat -m POST -T application/json -d "{\"driveId\":$DRIVE_ID,\"question\":\"How should I prepare?\"}" "$BASE/chat"
@@ -0,0 +1,41 @@
+#!/bin/sh
+# Compares cold starts of the images built from the Dockerfile:
+#   scripts/startup-benchmark.sh --env-file prod.env
+# For each image: the "Started ... in" time Spring logs, the time until the readiness probe is UP
+# (includes the warmup, see WarmupService) and the time until a first real request is answered.
+set -e
+
+IMAGES=${IMAGES:-"trackfolio trackfolio:fast trackfolio:crac-restore"}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+
+now_ms() {
+    date +%s%3N
+}
+
+for image in $IMAGES; do
+    extra=""
+    case "$image" in
+        *crac*) extra="--cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE" ;;
+    esac
+    for run in $(seq "$RUNS"); do
+        start=$(now_ms)
+        container=$(docker run -d -p "$PORT:8080" $extra "$@" "$image")
+
+        # Time to first request: an unauthenticated login goes through security, JPA and BCrypt
+        until curl -s -o /dev/null -X POST -H 'Content-Type: application/json' \
+                -d '{"email":"benchmark@gmail.com","password":"benchmark"}' "http://localhost:$PORT/auth/login"; do
+            sleep 0.05
+        done
+        first_request=$(($(now_ms) - start))
+
+        until curl -sf "http://localhost:$PORT/readyz" >/dev/null; do
+            sleep 0.05
+        done
+        ready=$(($(now_ms) - start))
+
+        started=$(docker logs "$container" 2>&1 | grep -o 'Started TrackfolioApplication in [0-9.]* seconds' | grep -o '[0-9.]*' || echo "-")
+        echo "$image run=$run started_s=$started first_request_ms=$first_request ready_ms=$ready"
+        docker rm -f "$container" >/dev/null
+    done
+done
@@ -0,0 +1,52 @@
+package com.adithya.trackfolio.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Admission control under load, bound from {@code app.admission}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Requests in progress that count as full load, next to the connection pool utilization
+    private int maxInFlight = 200;
+
+    // Base Retry-After of shed requests; up to the same again is added so clients do not retry in step
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    // Load (1.0 = pool or in-flight limit fully used) from which each priority is shed
+    private Map<Priority, Double> shedAt = new EnumMap<>(Map.of(
+            Priority.CRITICAL, 3.0,
+            Priority.READ, 1.5,
+            Priority.WRITE, 1.0,
+            Priority.BULK, 0.8));
+
+    // First match wins; other requests are READ for GET/HEAD and WRITE otherwise
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Priority {
+        CRITICAL, READ, WRITE, BULK
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String path;
+        private String method;
+        private Priority priority;
+    }
+}
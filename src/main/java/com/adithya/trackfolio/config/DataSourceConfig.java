@@ -0,0 +1,191 @@
+package com.adithya.trackfolio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.Lifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * JDBC (JPA) and R2DBC side by side. Spring Boot configures only one of them when both are on
+ * the classpath: an R2DBC ConnectionFactory makes the DataSource auto-configuration back off,
+ * and the reactive transaction manager can take the place of the JPA one. So the Hikari pools,
+ * the JPA transaction manager and the R2DBC pool are all declared here.
+ * The R2DBC pool only serves the streaming chat lookups (see ChatService#streamChat).
+ * <p>
+ * With app.datasource.replica.url set, read-only transactions run on a replica pool and
+ * everything else on the primary. The application DataSource is a lazy proxy: it only picks
+ * a pool at the first statement, once Spring has marked the connection read-only or not.
+ * On top of it, QueryCountingDataSource counts the statements of each request for the query budget.
+ * <p>
+ * With CRaC on the classpath (Maven profile "crac") both Hikari pools are suspended and emptied
+ * before a checkpoint and resumed after restore, as Spring Boot does for its own pool: open
+ * sockets would fail the checkpoint. The R2DBC pool starts empty and is only used by chat,
+ * so it holds no connections at the onRefresh checkpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    // Suspension makes getConnection wait while a checkpoint is taken; it costs a semaphore otherwise
+    private static final boolean CHECKPOINT_RESTORE = ClassUtils.isPresent("org.crac.Resource", DataSourceConfig.class.getClassLoader());
+
+    // Bound from spring.datasource.*, like the auto-configured pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setAllowPoolSuspension(CHECKPOINT_RESTORE);
+        return dataSource;
+    }
+
+    // Own Hikari settings under app.datasource.replica.hikari; credentials default to the primary's
+    @Bean
+    @ConditionalOnExpression("!'${app.datasource.replica.url:}'.isBlank()")
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setAllowPoolSuspension(CHECKPOINT_RESTORE);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+                                 ReplicaStickiness stickiness,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replica, stickiness, meterRegistry));
+        }
+        return new QueryCountingDataSource(dataSource);
+    }
+
+    /**
+     * {@code @Transactional} without a qualifier keeps meaning JPA. Commits of read-write
+     * transactions start the user's read-your-writes window, see ReplicaStickiness.
+     */
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory, ReplicaStickiness stickiness) {
+        return new JpaTransactionManager(entityManagerFactory) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                if (!status.isReadOnly()) {
+                    stickiness.recordWrite();
+                }
+            }
+        };
+    }
+
+    /**
+     * Uses app.r2dbc.url, or the JDBC url with "jdbc:" replaced by "r2dbc:", with the JDBC credentials.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties properties,
+                                            @Value("${app.r2dbc.url:}") String url,
+                                            @Value("${app.r2dbc.max-size:10}") int maxSize,
+                                            @Value("${app.r2dbc.max-idle-time:PT10M}") Duration maxIdleTime) {
+        String r2dbcUrl = StringUtils.hasText(url) ? url : "r2dbc:" + properties.getUrl().substring("jdbc:".length());
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("r2dbc")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+    }
+
+    /**
+     * Spring Boot only registers these for the auto-configured pool, which backs off here.
+     */
+    @Configuration
+    @ConditionalOnCheckpointRestore
+    static class CheckpointRestoreConfig {
+
+        @Bean
+        public Lifecycle primaryCheckpointRestoreLifecycle(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                           ConfigurableApplicationContext applicationContext) {
+            return checkpointRestoreLifecycle(primaryDataSource, applicationContext);
+        }
+
+        @Bean
+        @ConditionalOnExpression("!'${app.datasource.replica.url:}'.isBlank()")
+        public Lifecycle replicaCheckpointRestoreLifecycle(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                                           ConfigurableApplicationContext applicationContext) {
+            return checkpointRestoreLifecycle(replicaDataSource, applicationContext);
+        }
+
+        // Boot's lifecycle fails to resume a pool that never started (the replica, when nothing read
+        // before the checkpoint); such a pool has nothing to resume and starts on first use
+        private static Lifecycle checkpointRestoreLifecycle(HikariDataSource pool, ConfigurableApplicationContext applicationContext) {
+            HikariCheckpointRestoreLifecycle delegate = new HikariCheckpointRestoreLifecycle(pool, applicationContext);
+            return new Lifecycle() {
+                @Override
+                public void start() {
+                    if (pool.getHikariPoolMXBean() != null) {
+                        delegate.start();
+                    }
+                }
+
+                @Override
+                public void stop() {
+                    delegate.stop();
+                }
+
+                @Override
+                public boolean isRunning() {
+                    return delegate.isRunning();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.repository.DriveRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Detects optional database capabilities at startup and creates the supporting
+ * indexes that Hibernate's schema update does not manage.
+ * Features that are not available (e.g. when running against H2 in tests) are
+ * reported as disabled, and callers fall back to their in-memory implementations.
+ */
+@Slf4j
+@Component
+public class DatabaseFeatures {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private boolean postgres;
+    private boolean trigramSearch;
+    private boolean fullTextSearch;
+
+    // EntityManagerFactory is injected so the schema exists before the DDL below runs
+    public DatabaseFeatures(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void init() {
+        String product = jdbcTemplate.execute((Connection c) -> {
+            DatabaseMetaData metaData = c.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        postgres = "PostgreSQL".equalsIgnoreCase(product);
+        log.info("Database product: {}", product);
+
+        if (postgres) {
+            // On the normalized expressions searchByCompanyOrRole filters on; replaces the earlier lower() indexes
+            trigramSearch = tryExecute("pg_trgm", List.of(
+                    "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+                    "DROP INDEX IF EXISTS idx_drive_summary_company_trgm",
+                    "DROP INDEX IF EXISTS idx_drive_summary_role_trgm",
+                    "CREATE INDEX IF NOT EXISTS idx_drive_summary_company_norm_trgm ON drive_summary USING gin ((" + DriveRepository.SEARCH_COMPANY + ") gin_trgm_ops)",
+                    "CREATE INDEX IF NOT EXISTS idx_drive_summary_role_norm_trgm ON drive_summary USING gin ((" + DriveRepository.SEARCH_ROLE + ") gin_trgm_ops)"));
+
+            // Generated columns are recomputed by Postgres on every insert/update of the row,
+            // so the search vectors stay current without a reindex job
+            fullTextSearch = tryExecute("full-text search", List.of(
+                    searchVectorColumn("notes", "content"),
+                    "CREATE INDEX IF NOT EXISTS idx_notes_search ON notes USING gin (search_vector)",
+                    searchVectorColumn("checklist", "content"),
+                    "CREATE INDEX IF NOT EXISTS idx_checklist_search ON checklist USING gin (search_vector)",
+                    searchVectorColumn("jd_details", "jd_text"),
+                    "CREATE INDEX IF NOT EXISTS idx_jd_details_search ON jd_details USING gin (search_vector)"));
+        }
+    }
+
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    /**
+     * @return true if pg_trgm is installed and the trigram indexes on drive_summary exist
+     */
+    public boolean hasTrigramSearch() {
+        return trigramSearch;
+    }
+
+    /**
+     * @return true if notes, checklist and jd_details carry indexed tsvector columns
+     */
+    public boolean hasFullTextSearch() {
+        return fullTextSearch;
+    }
+
+    private static String searchVectorColumn(String table, String column) {
+        return "ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (to_tsvector('english', coalesce(" + column + ", ''))) STORED";
+    }
+
+    // Runs the statements of one feature; the feature is disabled if any of them fails
+    private boolean tryExecute(String feature, List<String> statements) {
+        try {
+            statements.forEach(jdbcTemplate::execute);
+            log.info("Database feature '{}' enabled", feature);
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Database feature '{}' unavailable, using fallback: {}", feature, e.getMostSpecificCause().getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.adithya.trackfolio.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logback turbo filter that lets through at most {@code maxPerSecond} events per second from
+ * each configured logger, for events at or below {@code level}. Meant for chatty per-request
+ * info lines; anything more severe than {@code level} is never dropped.
+ * Configured in logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.adithya.trackfolio.config.LogSamplingFilter"&gt;
+ *     &lt;logger&gt;com.adithya.trackfolio.service.DriveService&lt;/logger&gt;
+ *     &lt;maxPerSecond&gt;5&lt;/maxPerSecond&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private final Set<String> loggers = new HashSet<>();
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private Level level = Level.INFO;
+    private int maxPerSecond = 10;
+
+    public void addLogger(String logger) {
+        loggers.add(logger.trim());
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not use up the budget
+        if (!isStarted() || format == null || eventLevel.toInt() > level.toInt()
+                || !loggers.contains(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.tryAcquire(maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Fixed one-second window; a racy reset at the boundary only lets a few extra events through
+    private static final class Window {
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(int max) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now != second) {
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.util.RequestQueryStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements of each HTTP request and warns when a request goes over the budget.
+ * Runs ahead of the security filters so the user lookup in {@code JwtFilter} is counted too.
+ * With {@code app.query-budget.header} enabled the numbers are returned in the
+ * {@value #COUNT_HEADER} and {@value #TIME_HEADER} response headers.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    public static final String LOG_SQL_HEADER = "X-Log-Sql";
+
+    @Value("${app.query-budget.max-statements:10}")
+    private int maxStatements;
+
+    @Value("${app.query-budget.header:false}")
+    private boolean exposeHeader;
+
+    // Lets a client ask for the SQL of one request to be logged with "X-Log-Sql: true"
+    @Value("${app.logging.sql-header:false}")
+    private boolean sqlHeaderAllowed;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        RequestQueryStats.begin(sqlHeaderAllowed && "true".equalsIgnoreCase(request.getHeader(LOG_SQL_HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats stats = RequestQueryStats.end();
+            // Responses with a body already got the headers from QueryCountHeaderAdvice
+            if (exposeHeader && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            if (stats.getStatements() > maxStatements) {
+                log.warn("Query budget exceeded: {} {} ran {} statements ({} ms), budget is {}",
+                        request.getMethod(), endpoint(request), stats.getStatements(),
+                        stats.getExecutionMillis(), maxStatements);
+            }
+        }
+    }
+
+    boolean isHeaderExposed() {
+        return exposeHeader;
+    }
+
+    static void writeHeaders(HttpServletResponse response, RequestQueryStats stats) {
+        response.setHeader(COUNT_HEADER, String.valueOf(stats.getStatements()));
+        response.setHeader(TIME_HEADER, String.valueOf(stats.getExecutionMillis()));
+    }
+
+    // Route template such as /drives/{id} when a controller matched, so warnings group by endpoint
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
@@ -0,0 +1,93 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.util.RequestQueryStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Feeds {@link RequestQueryStats} from the JDBC calls themselves, so statements sent through
+ * JdbcTemplate are counted along with Hibernate's. Every execute call counts as one statement
+ * and its wall time as execution time; a JDBC batch is one statement, matching its single round trip.
+ * Outside an HTTP request the wrappers only delegate.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), QueryCountingDataSource::wrapStatement);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), QueryCountingDataSource::wrapStatement);
+    }
+
+    private static Object wrapStatement(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(target, method, args);
+        if (!(result instanceof Statement statement)) {
+            return result;
+        }
+        Class<? extends Statement> type = switch (method.getName()) {
+            case "prepareStatement" -> PreparedStatement.class;
+            case "prepareCall" -> CallableStatement.class;
+            default -> Statement.class;
+        };
+        return wrap(type, statement, QueryCountingDataSource::countExecution);
+    }
+
+    private static Object countExecution(Object target, Method method, Object[] args) throws Throwable {
+        if (RequestQueryStats.current() == null || !EXECUTE_METHODS.contains(method.getName())) {
+            return invoke(target, method, args);
+        }
+        long started = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            RequestQueryStats.recordStatement();
+            RequestQueryStats.recordExecution(System.nanoTime() - started);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            // Hibernate keeps statements in hash sets, so identity has to be the proxy's own
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap" -> type.equals(args[0]) ? proxy : invoke(target, method, args);
+            default -> interceptor.intercept(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+        Object intercept(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
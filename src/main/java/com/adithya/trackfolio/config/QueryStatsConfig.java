@@ -0,0 +1,34 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.util.RequestQueryStats;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces {@code spring.jpa.show-sql} with a statement inspector: statements go to the
+ * {@code trackfolio.sql} logger at DEBUG, or at INFO for requests that asked for it.
+ * Statements are counted for {@link RequestQueryStats} at the DataSource instead
+ * (QueryCountingDataSource), which also sees JdbcTemplate.
+ */
+@Configuration
+public class QueryStatsConfig {
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("trackfolio.sql");
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+            if (RequestQueryStats.isSqlLogged()) {
+                SQL_LOG.info("{}", sql);
+            } else {
+                SQL_LOG.debug("{}", sql);
+            }
+            return sql;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.adithya.trackfolio.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limits per route, bound from {@code app.rate-limit}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Use the first X-Forwarded-For entry as client IP; only safe behind a proxy that sets it
+    private boolean trustForwardedFor = false;
+
+    // Buckets kept per route; new keys beyond it share one bucket until the eviction sweep makes room
+    private int maxKeys = 100_000;
+
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    private List<Route> routes = new ArrayList<>();
+
+    public enum Key {
+        USER, IP
+    }
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String path;
+        private int capacity;
+        private Duration period;
+        private Key key = Key.USER;
+    }
+}
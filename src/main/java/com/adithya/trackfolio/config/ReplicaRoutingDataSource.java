@@ -0,0 +1,55 @@
+package com.adithya.trackfolio.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Target of read-only connections (see DataSourceConfig): the replica pool, or the primary
+ * while the current user is inside their read-your-writes window or a cache is being filled.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaStickiness stickiness;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaStickiness stickiness, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickiness = stickiness;
+        this.replicaReads = Counter.builder("trackfolio.datasource.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.stickyReads = Counter.builder("trackfolio.datasource.reads")
+                .description("Read-only transactions by the pool that served them")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return target().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return target().getConnection(username, password);
+    }
+
+    private DataSource target() {
+        if (stickiness.isPrimaryRequired() || stickiness.isCurrentUserSticky()) {
+            stickyReads.increment();
+            return primary;
+        }
+        replicaReads.increment();
+        return replica;
+    }
+}
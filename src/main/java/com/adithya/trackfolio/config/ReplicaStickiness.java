@@ -0,0 +1,118 @@
+package com.adithya.trackfolio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes for the read replica: after a user's transaction writes, that user's
+ * read-only transactions go to the primary for a short window, so they cannot miss their own
+ * change while the replica catches up. Users are keyed by the authenticated email, or by the
+ * token subject while JwtFilter looks the user up (see {@link #callAs}).
+ * The window is per instance; a user whose next request lands on another instance can still
+ * read from a lagging replica. Cache fills therefore always read the primary (see {@link #readPrimary}).
+ */
+@Component
+public class ReplicaStickiness {
+
+    // Token subject of a request that is not authenticated yet
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+    // Set while a cache fill runs, see readPrimary
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    // email -> System.nanoTime() until which reads stay on the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.replica.sticky-window:PT5S}")
+    private Duration window;
+
+    /**
+     * Keeps the authenticated user's reads on the primary for the sticky window.
+     */
+    public void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            recordWrite(user);
+        }
+    }
+
+    /**
+     * For writes made before the user is authenticated, e.g. registration.
+     */
+    public void recordWrite(String email) {
+        stickyUntil.put(email, System.nanoTime() + window.toNanos());
+    }
+
+    /**
+     * @return true if the authenticated user wrote within the sticky window
+     */
+    public boolean isCurrentUserSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    /**
+     * Runs a lookup as the given user before they are authenticated, so the lookup that
+     * authenticates a request right after signup does not miss the new row on the replica.
+     */
+    public <T> T callAs(String email, Supplier<T> lookup) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(email);
+        try {
+            return lookup.get();
+        } finally {
+            if (previous == null) {
+                SUBJECT.remove();
+            } else {
+                SUBJECT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Sends the read-only transactions started by the loader to the primary. For loads that
+     * fill an in-process cache: another instance evicts it as soon as the change commits, and
+     * a refill from a lagging replica would keep the old data until the next change.
+     * The loader must start its own transaction, since a connection is bound on first use.
+     */
+    public <T> T readPrimary(Supplier<T> loader) {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        }
+    }
+
+    /**
+     * @return true inside {@link #readPrimary}
+     */
+    public boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.sticky-cleanup:PT1M}")
+    void removeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> now - until >= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SUBJECT.get();
+    }
+}
@@ -1,10 +1,16 @@
 package com.adithya.trackfolio.config;
 
+import com.adithya.trackfolio.security.AdmissionControlFilter;
 import com.adithya.trackfolio.security.JwtFilter;
+import com.adithya.trackfolio.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -19,6 +25,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -32,15 +39,43 @@ public class SecurityConfig {
     /**
      * Registers a PasswordEncoder bean using BCrypt.
      * Used to hash and verify user passwords securely.
+     * Existing hashes with another cost are upgraded on login, see PasswordHashingService.
      */
     @Bean
-    public PasswordEncoder encoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder encoder(@Value("${app.auth.bcrypt-strength:10}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final AdmissionControlFilter admissionControlFilter;
     @Value("${app.frontend-url}")
     private String frontendUrl;
+    // Port of the separate management server once it runs, -1 when actuator shares the app port
+    private final AtomicInteger managementPort = new AtomicInteger(-1);
+
+    @EventListener
+    void onWebServerStarted(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            managementPort.set(event.getWebServer().getPort());
+        }
+    }
+
+    /**
+     * Actuator endpoints (metrics, traces, health) are served on management.server.port, which is
+     * not published outside the cluster network, so requests on that port need no token.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(request -> request.getLocalPort() == managementPort.get())
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .csrf(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
 
     /**
      * Defines the security filter chain.
@@ -57,7 +92,12 @@ public class SecurityConfig {
                 //Define public and secured routes
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Streamed responses (/chat/stream) complete in an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // Probes for platforms that only reach the app port; everything else is on the management port
+                        .requestMatchers("/livez", "/readyz").permitAll()
+                        .requestMatchers("/actuator/**").denyAll()
                         .anyRequest().authenticated()
                 )
 
@@ -65,7 +105,13 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
 
                 //Register JwtFilter to intercept and validate JWTs before Spring’s built-in login filter
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+
+                //Shed load before the user lookup takes a connection (CORS headers are already set)
+                .addFilterBefore(admissionControlFilter, JwtFilter.class)
+
+                //Rate limit expensive routes once the user (if any) is known
+                .addFilterAfter(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
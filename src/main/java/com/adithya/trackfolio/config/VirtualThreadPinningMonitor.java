@@ -0,0 +1,117 @@
+package com.adithya.trackfolio.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread (inside a
+ * {@code synchronized} block or a native frame), which takes the carrier away from all
+ * other virtual threads. Listens to the JFR {@code jdk.VirtualThreadPinned} event, so it
+ * only runs when {@code spring.threads.virtual.enabled} is true.
+ * Pinned time goes to {@code trackfolio.vthreads.pinned}; each distinct stack is logged once.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_STACKS = 200;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LongAdder> stacks = new ConcurrentHashMap<>();
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Blocking shorter than this while pinned is not reported
+    @Value("${app.threads.pinned-threshold:PT0.02S}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+    private Timer pinned;
+    private Counter unreported;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!virtualThreads) {
+            return;
+        }
+        pinned = Timer.builder("trackfolio.vthreads.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+        unreported = Counter.builder("trackfolio.vthreads.pinned.unreported")
+                .description("Pinning events with a stack not logged because too many distinct stacks were seen")
+                .register(meterRegistry);
+
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String stack = format(event.getStackTrace());
+
+        LongAdder count = stacks.get(stack);
+        if (count == null) {
+            if (stacks.size() >= MAX_STACKS) {
+                unreported.increment();
+                return;
+            }
+            LongAdder created = new LongAdder();
+            count = stacks.putIfAbsent(stack, created);
+            if (count == null) {
+                count = created;
+                log.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+            }
+        }
+        count.increment();
+    }
+
+    private static String format(RecordedStackTrace trace) {
+        if (trace == null) {
+            return "(no stack trace)";
+        }
+        // The first frames are the parking code of VirtualThread itself
+        return trace.getFrames().stream()
+                .dropWhile(frame -> frame.getMethod().getType().getName().startsWith("java.lang.VirtualThread"))
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
@@ -0,0 +1,23 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: out of service until warmup has finished,
+ * so the platform does not route the first requests to a cold instance.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        return warmupService.isWarm() ? Health.up().build() : Health.outOfService().withDetail("warmup", "in progress").build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.adithya.trackfolio.config;
 
+import com.adithya.trackfolio.tracing.TracingExchangeFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -8,7 +9,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.build();
+    public WebClient webClient(WebClient.Builder builder, TracingExchangeFilter tracingFilter) {
+        return builder.filter(tracingFilter).build();
     }
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package com.adithya.trackfolio.controller;
 import com.adithya.trackfolio.dto.ChatRequestDTO;
 import com.adithya.trackfolio.service.ChatService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/chat")
@@ -21,4 +24,14 @@ public class ChatController {
         String aiResponse = chatService.handleChat(request);
         return ResponseEntity.ok(aiResponse);
     }
+
+    /**
+     * Streams the answer as server-sent events, one event per line of the AI-core response.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<String> stream(@RequestBody ChatRequestDTO request) {
+        // The security context is bound to this thread, the pipeline runs elsewhere
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return chatService.streamChat(email, request);
+    }
 }
\ No newline at end of file
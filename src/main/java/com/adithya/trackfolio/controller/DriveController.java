@@ -3,8 +3,11 @@ package com.adithya.trackfolio.controller;
 import com.adithya.trackfolio.dto.*;
 import com.adithya.trackfolio.entity.JD;
 import com.adithya.trackfolio.service.AuthService;
+import com.adithya.trackfolio.service.ContentSearchService;
+import com.adithya.trackfolio.service.DriveSearchService;
 import com.adithya.trackfolio.service.DriveService;
 import com.adithya.trackfolio.service.JDService;
+import com.adithya.trackfolio.service.SkillMatchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -29,6 +32,9 @@ public class DriveController {
     private final DriveService driveService;
     private final JDService jdService;
     private final AuthService authService;
+    private final DriveSearchService driveSearchService;
+    private final ContentSearchService contentSearchService;
+    private final SkillMatchService skillMatchService;
 
     @PostMapping("/save")
     public ResponseEntity<Void> saveDrive(@RequestBody DriveRequestDTO dto) {
@@ -62,6 +68,42 @@ public class DriveController {
         return driveService.getDrivesByName(companyName);
     }
 
+    /**
+     * Autocomplete for the search box: prefix and fuzzy match on company name and role.
+     *
+     * @param query text typed so far
+     * @param limit maximum number of suggestions
+     * @return matching drives, best match first
+     */
+    @GetMapping("/suggest")
+    public List<DriveResponseDTO> suggestDrives(@RequestParam("q") String query,
+                                                @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return driveSearchService.suggest(query, limit);
+    }
+
+    /**
+     * Full-text search across the user's notes, checklist items and JD text.
+     *
+     * @param query search text
+     * @param limit maximum number of hits
+     * @return hits with drive id and snippet, most relevant first
+     */
+    @GetMapping("/search")
+    public List<SearchHitDTO> searchContent(@RequestParam("q") String query,
+                                            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return contentSearchService.search(query, limit);
+    }
+
+    /**
+     * Scores every drive of the user by how well its JD matches the user's skills.
+     *
+     * @return match percentage, matched and missing skills per drive, best match first
+     */
+    @GetMapping("/match")
+    public List<DriveMatchDTO> matchDrives() {
+        return skillMatchService.matchDrives();
+    }
+
     /**
      * Uploads a Job Description PDF, extracts its text, and stores it for the specified drive.
      *
@@ -130,10 +172,15 @@ public class DriveController {
     /**
      * Endpoint to delete a user account
      *
-     * @return Response entity on a successful operation
+     * @param async if true, the account is tombstoned and its data purged in the background
+     * @return Response entity on a successful operation, 202 when the purge is deferred
      */
     @DeleteMapping("/delete-account")
-    public ResponseEntity<Void> deleteAccount() {
+    public ResponseEntity<Void> deleteAccount(@RequestParam(value = "async", defaultValue = "false") boolean async) {
+        if (async) {
+            authService.markAccountForDeletion();
+            return ResponseEntity.accepted().build();
+        }
         authService.deleteAccount();
         return ResponseEntity.ok().build();
     }
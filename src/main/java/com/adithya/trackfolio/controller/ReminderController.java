@@ -0,0 +1,27 @@
+package com.adithya.trackfolio.controller;
+
+import com.adithya.trackfolio.service.ReminderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/reminders")
+@RequiredArgsConstructor
+public class ReminderController {
+
+    private final ReminderService reminderService;
+
+    /**
+     * Server-sent "reminder" events before each of the user's drives, with keep-alive comments in between.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return reminderService.connect(email);
+    }
+}
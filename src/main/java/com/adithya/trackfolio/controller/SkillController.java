@@ -30,4 +30,10 @@ public class SkillController {
         List<String> skills = skillService.getSkills();
         return ResponseEntity.ok(new SkillResponse(skills));
     }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<SkillResponse> suggestSkills(@RequestParam("prefix") String prefix,
+                                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(new SkillResponse(skillService.suggest(prefix, limit)));
+    }
 }
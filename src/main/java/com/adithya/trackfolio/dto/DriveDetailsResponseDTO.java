@@ -13,7 +13,8 @@ import java.util.List;
         "driveDatetime",
         "onCampus",
         "notes",
-        "checklists"
+        "checklists",
+        "version"
 })
 @Getter
 @Setter
@@ -29,4 +30,5 @@ public class DriveDetailsResponseDTO {
 
     private List<NoteDTO> notes;
     private List<ChecklistDTO> checklists;
+    private long version;
 }
@@ -0,0 +1,22 @@
+package com.adithya.trackfolio.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriveMatchDTO {
+    private Long driveId;
+    private String companyName;
+    private String role;
+    private LocalDateTime driveDatetime;
+    private boolean hasJd;
+    private int matchPercentage;
+    private List<String> matchedSkills;
+    private List<String> missingSkills;
+}
@@ -21,4 +21,5 @@ public class DriveRequestDTO {
     private Boolean isOnCampus;
     private List<NoteDTO> notes;
     private List<ChecklistDTO> checklists;
+    private Long version;       // version the client loaded; a stale one gets 409 (optional)
 }
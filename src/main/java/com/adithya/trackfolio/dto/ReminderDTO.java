@@ -0,0 +1,18 @@
+package com.adithya.trackfolio.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderDTO {
+    private Long driveId;
+    private String companyName;
+    private String role;
+    private LocalDateTime driveDatetime;
+    private long minutesBefore;
+}
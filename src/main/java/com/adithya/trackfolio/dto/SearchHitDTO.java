@@ -0,0 +1,16 @@
+package com.adithya.trackfolio.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitDTO {
+    private Long driveId;
+    private String companyName;
+    private String source;      // note, checklist or jd
+    private String snippet;
+    private double rank;
+}
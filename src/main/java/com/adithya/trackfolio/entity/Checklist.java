@@ -11,7 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "checklist")
+@Table(name = "checklist", indexes = @Index(name = "idx_checklist_drive", columnList = "drive_id"))
 public class Checklist {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,43 @@
+package com.adithya.trackfolio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schedule state of one background job, shared by all instances (see ClusterJobScheduler).
+ * Only read and written by the instance holding the job's advisory lock.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "cluster_job")
+public class ClusterJob {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    private LocalDateTime lastStartedAt;
+
+    private LocalDateTime lastFinishedAt;
+
+    private Long lastDurationMs;
+
+    // SUCCESS or FAILURE; a start without a finish means the instance died mid-run
+    @Column(length = 16)
+    private String lastStatus;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(length = 100)
+    private String lastNode;
+}
@@ -2,11 +2,15 @@ package com.adithya.trackfolio.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "drive_summary")
+@Table(name = "drive_summary", indexes = {
+        @Index(name = "idx_drive_summary_user", columnList = "user_id, drive_datetime"),
+        @Index(name = "idx_drive_summary_datetime", columnList = "drive_datetime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,4 +30,10 @@ public class DriveSummary {
     private LocalDateTime driveDatetime;
 
     private boolean isOnCampus;
+
+    // Bumped on every save of the drive, its notes or its checklists; the default covers existing rows
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
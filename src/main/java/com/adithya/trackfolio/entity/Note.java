@@ -11,7 +11,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "notes")
+@Table(name = "notes", indexes = @Index(name = "idx_notes_drive", columnList = "drive_id"))
 public class Note {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,38 @@
+package com.adithya.trackfolio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A drive reminder that reached the user. The unique (drive_id, fire_at) lets exactly one
+ * instance deliver each reminder, also across restarts; a rescheduled drive gets new fire times.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "reminder_delivery",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reminder_delivery_drive_fire", columnNames = {"drive_id", "fire_at"}),
+        indexes = @Index(name = "idx_reminder_delivery_user", columnList = "user_id"))
+public class ReminderDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "drive_id", nullable = false)
+    private Long driveId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "fire_at", nullable = false)
+    private LocalDateTime fireAt;
+
+    @Column(name = "delivered_at", nullable = false)
+    private LocalDateTime deliveredAt;
+}
@@ -3,6 +3,8 @@ package com.adithya.trackfolio.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @Setter
@@ -23,6 +25,6 @@ public class User {
 
     private String password;
 
-    @Column(length = 252)
-    private String refreshToken;
+    // Set when the account is scheduled for background purge; the user can no longer authenticate
+    private LocalDateTime deletedAt;
 }
\ No newline at end of file
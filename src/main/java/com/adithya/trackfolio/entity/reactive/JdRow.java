@@ -0,0 +1,11 @@
+package com.adithya.trackfolio.entity.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC view of jd_details, see {@link com.adithya.trackfolio.entity.JD}.
+ */
+@Table("jd_details")
+public record JdRow(@Id Long id, Long driveId, String jdText) {
+}
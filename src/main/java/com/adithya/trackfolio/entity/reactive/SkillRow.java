@@ -0,0 +1,11 @@
+package com.adithya.trackfolio.entity.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC view of user_skills, see {@link com.adithya.trackfolio.entity.Skill}.
+ */
+@Table("user_skills")
+public record SkillRow(@Id Long id, Long userId, String skill) {
+}
@@ -0,0 +1,13 @@
+package com.adithya.trackfolio.entity.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of user_data, see {@link com.adithya.trackfolio.entity.User}.
+ */
+@Table("user_data")
+public record UserRow(@Id Long id, String email, LocalDateTime deletedAt) {
+}
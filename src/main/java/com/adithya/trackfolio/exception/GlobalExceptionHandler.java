@@ -1,6 +1,7 @@
 package com.adithya.trackfolio.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
@@ -41,4 +42,18 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(statusCode).body(body);
     }
+
+    /**
+     * Handles concurrent modification detected at commit, e.g. two tabs saving the same drive
+     * (optimistic lock on DriveSummary.version) or a lock conflict on its notes.
+     *
+     * @param ex the concurrency failure
+     * @return 409 with the same JSON error details as above
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return handleResponseStatusException(
+                new ResponseStatusException(HttpStatus.CONFLICT, "Data was modified elsewhere. Reload and try again"));
+    }
 }
\ No newline at end of file
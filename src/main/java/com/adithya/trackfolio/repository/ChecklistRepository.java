@@ -2,11 +2,26 @@ package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.Checklist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ChecklistRepository extends JpaRepository<Checklist, Long> {
-    void deleteByDriveId(Long driveId);
+
+    @Modifying
+    @Query("delete from Checklist c where c.drive.id = :driveId")
+    void deleteByDriveId(@Param("driveId") Long driveId);
+
+    @Modifying
+    @Query("delete from Checklist c where c.drive.id in (select d.id from DriveSummary d where d.userId = :userId)")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM checklist WHERE id IN (SELECT c.id FROM checklist c JOIN drive_summary d ON d.id = c.drive_id " +
+            "WHERE d.user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 
     List<Checklist> findByDriveId(Long driveId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.adithya.trackfolio.repository;
+
+import com.adithya.trackfolio.entity.ClusterJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ClusterJobRepository extends JpaRepository<ClusterJob, String> {
+}
@@ -1,14 +1,30 @@
 package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.DriveSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface DriveRepository extends JpaRepository<DriveSummary, Long> {
 
+    /**
+     * Company name and role normalized like {@link com.adithya.trackfolio.util.Trigrams#normalize}
+     * (lower case, runs of other characters than letters and digits as one space), so "J.P. Morgan"
+     * is found by "j.p." in Postgres as in the in-memory fallback. The trigram indexes are built
+     * on these exact expressions.
+     */
+    String SEARCH_COMPANY = "btrim(regexp_replace(lower(company_name), '(\\W|_)+', ' ', 'g'))";
+    String SEARCH_ROLE = "btrim(regexp_replace(lower(role), '(\\W|_)+', ' ', 'g'))";
+
     List<DriveSummary> findByUserIdAndDriveDatetimeBetween(Long userId, LocalDateTime start, LocalDateTime end);
 
     List<DriveSummary> findByUserIdAndDriveDatetimeAfter(Long userId, LocalDateTime now);
@@ -19,9 +35,60 @@ public interface DriveRepository extends JpaRepository<DriveSummary, Long> {
 
     List<DriveSummary> findByUserId(Long userId);
 
+    /**
+     * Drives starting in (from, to], in id order from afterId on, for loading reminders in pages.
+     */
+    @Query("select d.id as id, d.userId as userId, d.companyName as companyName, d.role as role, " +
+            "d.driveDatetime as driveDatetime from DriveSummary d " +
+            "where d.driveDatetime > :from and d.driveDatetime <= :to and d.id > :afterId order by d.id")
+    List<UpcomingDrive> findUpcoming(@Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    @Query("select d.id as id, d.userId as userId, d.companyName as companyName, d.role as role, " +
+            "d.driveDatetime as driveDatetime from DriveSummary d " +
+            "where d.userId = :userId and d.driveDatetime > :from and d.driveDatetime <= :to")
+    List<UpcomingDrive> findUpcomingByUserId(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Loads a drive whose version is incremented when the transaction commits, even if only
+     * its notes or checklists changed, so concurrent saves of the same drive conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<DriveSummary> findForSaveById(Long id);
+
+    /**
+     * Prefix and fuzzy match on company name and role, backed by the pg_trgm GIN indexes
+     * created in {@link com.adithya.trackfolio.config.DatabaseFeatures}.
+     * Prefix matches rank first, then results are ordered by trigram similarity.
+     */
+    @Query(value = "SELECT d.* FROM drive_summary d WHERE d.user_id = :userId " +
+            "AND (" + SEARCH_COMPANY + " LIKE :prefix OR " + SEARCH_ROLE + " LIKE :prefix " +
+            "OR " + SEARCH_COMPANY + " % :query OR " + SEARCH_ROLE + " % :query) " +
+            "ORDER BY GREATEST(" +
+            "CASE WHEN " + SEARCH_COMPANY + " LIKE :prefix THEN 2.0 ELSE similarity(" + SEARCH_COMPANY + ", :query) END, " +
+            "CASE WHEN " + SEARCH_ROLE + " LIKE :prefix THEN 1.5 ELSE similarity(" + SEARCH_ROLE + ", :query) END) DESC, " +
+            "d.drive_datetime LIMIT :limit", nativeQuery = true)
+    List<DriveSummary> searchByCompanyOrRole(@Param("userId") Long userId,
+                                             @Param("query") String query,
+                                             @Param("prefix") String prefix,
+                                             @Param("limit") int limit);
+
     @Transactional
-    void deleteByUserId(Long userId);
+    @Modifying
+    @Query("delete from DriveSummary d where d.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
 
     @Transactional
-    void deleteById(Long driveId);
-}
\ No newline at end of file
+    @Modifying
+    @Query("delete from DriveSummary d where d.id = :driveId")
+    void deleteById(@Param("driveId") Long driveId);
+
+    @Modifying
+    @Query(value = "DELETE FROM drive_summary WHERE id IN (SELECT id FROM drive_summary WHERE user_id = :userId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
@@ -2,10 +2,30 @@ package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.JD;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface JDRepository extends JpaRepository<JD, Long> {
 
     Optional<JD> findByDriveId(Long driveId);
-}
\ No newline at end of file
+
+    List<JD> findByDriveIdIn(Collection<Long> driveIds);
+
+    @Modifying
+    @Query("delete from JD j where j.driveId = :driveId")
+    void deleteByDriveId(@Param("driveId") Long driveId);
+
+    @Modifying
+    @Query("delete from JD j where j.driveId in (select d.id from DriveSummary d where d.userId = :userId)")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM jd_details WHERE id IN (SELECT j.id FROM jd_details j JOIN drive_summary d ON d.id = j.drive_id " +
+            "WHERE d.user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
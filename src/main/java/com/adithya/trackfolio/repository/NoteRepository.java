@@ -2,11 +2,26 @@ package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.Note;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface NoteRepository extends JpaRepository<Note, Long> {
-    void deleteByDriveId(Long driveId);
+
+    @Modifying
+    @Query("delete from Note n where n.drive.id = :driveId")
+    void deleteByDriveId(@Param("driveId") Long driveId);
+
+    @Modifying
+    @Query("delete from Note n where n.drive.id in (select d.id from DriveSummary d where d.userId = :userId)")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM notes WHERE id IN (SELECT n.id FROM notes n JOIN drive_summary d ON d.id = n.drive_id " +
+            "WHERE d.user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
 
     List<Note> findByDriveId(Long driveId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.adithya.trackfolio.repository;
+
+import com.adithya.trackfolio.entity.ReminderDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ReminderDeliveryRepository extends JpaRepository<ReminderDelivery, Long> {
+
+    /**
+     * Claims a reminder for delivery.
+     *
+     * @return 1 if this call claimed it, 0 if it was already delivered
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO reminder_delivery (drive_id, user_id, fire_at, delivered_at) " +
+            "VALUES (:driveId, :userId, :fireAt, :deliveredAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int claim(@Param("driveId") Long driveId,
+              @Param("userId") Long userId,
+              @Param("fireAt") LocalDateTime fireAt,
+              @Param("deliveredAt") LocalDateTime deliveredAt);
+
+    /**
+     * Undoes a claim whose reminder could not be sent.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from ReminderDelivery r where r.driveId = :driveId and r.fireAt = :fireAt")
+    void release(@Param("driveId") Long driveId, @Param("fireAt") LocalDateTime fireAt);
+
+    @Modifying
+    @Query("delete from ReminderDelivery r where r.driveId = :driveId")
+    void deleteByDriveId(@Param("driveId") Long driveId);
+
+    @Modifying
+    @Query("delete from ReminderDelivery r where r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM reminder_delivery WHERE id IN (SELECT id FROM reminder_delivery WHERE user_id = :userId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
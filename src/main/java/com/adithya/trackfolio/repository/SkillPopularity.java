@@ -0,0 +1,10 @@
+package com.adithya.trackfolio.repository;
+
+/**
+ * Number of users that list a skill.
+ */
+public interface SkillPopularity {
+    String getSkill();
+
+    long getUsers();
+}
@@ -2,14 +2,30 @@ package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface SkillRepository extends JpaRepository<Skill, Long> {
+public interface SkillRepository extends JpaRepository<Skill, Long>, SkillRepositoryCustom {
     List<Skill> findByUserId(Long userId);
 
     Optional<Skill> findByUserIdAndSkill(Long userId, String skill);
 
-    void deleteByUserId(Long userId);
-}
\ No newline at end of file
+    // Accounts pending purge no longer count
+    @Query("select s.skill as skill, count(s) as users from Skill s"
+            + " where exists (select 1 from User u where u.id = s.userId and u.deletedAt is null)"
+            + " group by s.skill")
+    List<SkillPopularity> countUsersPerSkill();
+
+    @Modifying
+    @Query("delete from Skill s where s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_skills WHERE id IN (SELECT id FROM user_skills WHERE user_id = :userId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
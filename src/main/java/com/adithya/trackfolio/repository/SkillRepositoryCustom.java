@@ -0,0 +1,23 @@
+package com.adithya.trackfolio.repository;
+
+import java.util.Collection;
+
+/**
+ * Set-based skill writes that Spring Data's per-entity save/delete cannot express.
+ */
+public interface SkillRepositoryCustom {
+
+    /**
+     * Inserts all skills for the user in a single statement, skipping ones the user already has.
+     *
+     * @return number of rows actually inserted
+     */
+    int insertIgnoringDuplicates(Long userId, Collection<String> skills);
+
+    /**
+     * Deletes the given skills of the user in a single statement.
+     *
+     * @return number of rows deleted
+     */
+    int deleteSkills(Long userId, Collection<String> skills);
+}
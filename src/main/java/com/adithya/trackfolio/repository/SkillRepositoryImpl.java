@@ -0,0 +1,55 @@
+package com.adithya.trackfolio.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link SkillRepositoryCustom}; runs inside the caller's JPA transaction.
+ */
+@RequiredArgsConstructor
+public class SkillRepositoryImpl implements SkillRepositoryCustom {
+
+    // Keeps a single statement well below the driver's bind parameter limit
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertIgnoringDuplicates(Long userId, Collection<String> skills) {
+        List<String> rows = List.copyOf(skills);
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_INSERT) {
+            List<String> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_INSERT));
+            // The only unique constraint besides the primary key is (user_id, skill), so the
+            // target-less ON CONFLICT is equivalent to naming it (and also runs on H2 in tests)
+            String sql = "INSERT INTO user_skills (user_id, skill) VALUES " +
+                    String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)")) +
+                    " ON CONFLICT DO NOTHING";
+            inserted += jdbcTemplate.update(sql, ps -> {
+                int index = 1;
+                for (String skill : chunk) {
+                    ps.setLong(index++, userId);
+                    ps.setString(index++, skill);
+                }
+            });
+        }
+        return inserted;
+    }
+
+    @Override
+    public int deleteSkills(Long userId, Collection<String> skills) {
+        if (skills.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM user_skills WHERE user_id = ? AND skill = ANY(?)", ps -> {
+            Array array = ps.getConnection().createArrayOf("varchar", skills.toArray());
+            ps.setLong(1, userId);
+            ps.setArray(2, array);
+        });
+    }
+}
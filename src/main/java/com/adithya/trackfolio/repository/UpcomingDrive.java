@@ -0,0 +1,18 @@
+package com.adithya.trackfolio.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a drive needed to schedule and show its reminders.
+ */
+public interface UpcomingDrive {
+    Long getId();
+
+    Long getUserId();
+
+    String getCompanyName();
+
+    String getRole();
+
+    LocalDateTime getDriveDatetime();
+}
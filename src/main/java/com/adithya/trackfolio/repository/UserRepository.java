@@ -1,10 +1,29 @@
 package com.adithya.trackfolio.repository;
 
 import com.adithya.trackfolio.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("delete from User u where u.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update User u set u.deletedAt = :deletedAt where u.id = :userId and u.deletedAt is null")
+    int markDeleted(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("select u.id from User u where u.deletedAt is not null order by u.deletedAt")
+    List<Long> findDeletedUserIds(Pageable pageable);
+
+    long countByDeletedAtIsNotNull();
+}
@@ -0,0 +1,10 @@
+package com.adithya.trackfolio.repository.reactive;
+
+import com.adithya.trackfolio.entity.reactive.JdRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveJDRepository extends ReactiveCrudRepository<JdRow, Long> {
+
+    Mono<JdRow> findByDriveId(Long driveId);
+}
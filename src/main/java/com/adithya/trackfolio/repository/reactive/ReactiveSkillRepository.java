@@ -0,0 +1,10 @@
+package com.adithya.trackfolio.repository.reactive;
+
+import com.adithya.trackfolio.entity.reactive.SkillRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveSkillRepository extends ReactiveCrudRepository<SkillRow, Long> {
+
+    Flux<SkillRow> findByUserId(Long userId);
+}
@@ -0,0 +1,10 @@
+package com.adithya.trackfolio.repository.reactive;
+
+import com.adithya.trackfolio.entity.reactive.UserRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveCrudRepository<UserRow, Long> {
+
+    Mono<UserRow> findByEmail(String email);
+}
@@ -0,0 +1,152 @@
+package com.adithya.trackfolio.security;
+
+import com.adithya.trackfolio.config.AdmissionProperties;
+import com.adithya.trackfolio.config.AdmissionProperties.Priority;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sheds requests with 503 + Retry-After before they queue for a database connection.
+ * Load is the higher of the Hikari pools' utilization ((active + waiting) / maximum size) and
+ * the requests in progress over {@code app.admission.max-in-flight}. Each priority has its own
+ * threshold, so PDF uploads and chat go first, writes next, and cheap reads and token refresh
+ * keep being served the longest. Runs ahead of {@link JwtFilter}, whose user lookup already
+ * needs a connection.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final List<HikariDataSource> pools;
+    private final List<PrioritizedRoute> routes = new ArrayList<>();
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdmissionControlFilter(AdmissionProperties properties,
+                                  ObjectProvider<HikariDataSource> pools,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pools = pools.orderedStream().toList();
+        for (AdmissionProperties.Route route : properties.getRoutes()) {
+            routes.add(new PrioritizedRoute(
+                    PathPatternParser.defaultInstance.parse(route.getPath()),
+                    route.getMethod(),
+                    route.getPriority()));
+        }
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("trackfolio.admission.shed")
+                    .description("Requests shed with 503 under load")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("trackfolio.admission.load", this, AdmissionControlFilter::load)
+                .description("Highest of pool utilization and in-flight requests over the limit")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Requests in progress")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || "OPTIONS".equals(request.getMethod())
+                || request.getRequestURI().equals("/livez")
+                || request.getRequestURI().equals("/readyz");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        double load = load();
+        if (load >= properties.getShedAt().getOrDefault(priority, Double.MAX_VALUE)) {
+            shed.get(priority).increment();
+            log.debug("Shed {} {} ({} priority) at load {}", request.getMethod(), request.getRequestURI(), priority, load);
+            sendServiceUnavailable(response);
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the current load, 1.0 meaning a pool or the in-flight limit is fully used
+     */
+    double load() {
+        double load = (double) inFlight.get() / properties.getMaxInFlight();
+        for (HikariDataSource pool : pools) {
+            // Null until the pool has started
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                int busy = mxBean.getActiveConnections() + mxBean.getThreadsAwaitingConnection();
+                load = Math.max(load, (double) busy / pool.getMaximumPoolSize());
+            }
+        }
+        return load;
+    }
+
+    private Priority priorityOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PrioritizedRoute route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod()))
+                    && route.pattern().matches(path)) {
+                return route.priority();
+            }
+        }
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) ? Priority.READ : Priority.WRITE;
+    }
+
+    private void sendServiceUnavailable(HttpServletResponse response) throws IOException {
+        long base = Math.max(1, properties.getRetryAfter().toSeconds());
+        long retryAfter = base + ThreadLocalRandom.current().nextLong(base + 1);
+
+        response.setStatus(503);
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType("application/json");
+
+        String json = String.format("""
+                {
+                  "timestamp": "%s",
+                  "status": 503,
+                  "error": "Service Unavailable",
+                  "message": "Server is busy. Please retry in %d seconds"
+                }
+                """, java.time.Instant.now(), retryAfter);
+
+        response.getWriter().write(json);
+    }
+
+    private record PrioritizedRoute(PathPattern pattern, String method, Priority priority) {
+    }
+}
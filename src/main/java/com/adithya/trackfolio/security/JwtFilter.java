@@ -1,7 +1,10 @@
 package com.adithya.trackfolio.security;
 
+import com.adithya.trackfolio.config.ReplicaStickiness;
 import com.adithya.trackfolio.entity.User;
 import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.tracing.Span;
+import com.adithya.trackfolio.tracing.Tracer;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -9,14 +12,16 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -26,20 +31,62 @@ import java.util.Collections;
  * validates the JWT token, and sets the authentication context accordingly.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository repo;
+    private final ReplicaStickiness stickiness;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Tracer tracer;
+
+    public JwtFilter(JwtUtil jwtUtil,
+                     UserRepository repo,
+                     ReplicaStickiness stickiness,
+                     PlatformTransactionManager transactionManager,
+                     Tracer tracer) {
+        this.jwtUtil = jwtUtil;
+        this.repo = repo;
+        this.stickiness = stickiness;
+        this.tracer = tracer;
+        // The user lookup of every request is the hottest read, so it may go to the replica
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
+    /**
+     * Opens the root span of the request, so JWT checks, the user lookup and everything
+     * the controller does end up in one trace.
+     */
     @Override
     protected void doFilterInternal(HttpServletRequest req,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain chain) throws ServletException, IOException {
 
+        Span span = tracer.startRoot(req.getMethod() + " " + req.getRequestURI(), req.getHeader(Tracer.TRACEPARENT));
+        try {
+            authenticate(req, response, chain);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (span != null) {
+                span.error(e);
+            }
+            throw e;
+        } finally {
+            if (span != null) {
+                Object route = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                span.tag("route", route == null ? null : route.toString())
+                        .tag("status", String.valueOf(response.getStatus()));
+            }
+            tracer.end(span);
+        }
+    }
+
+    private void authenticate(HttpServletRequest req,
+                              HttpServletResponse response,
+                              FilterChain chain) throws ServletException, IOException {
+
         String path = req.getRequestURI();
-        if (path.startsWith("/auth")) {
+        if (path.startsWith("/auth") || path.equals("/livez") || path.equals("/readyz")) {
             chain.doFilter(req, response);
             return;
         }
@@ -55,9 +102,10 @@ public class JwtFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         String email;
 
+        Span jwtSpan = tracer.startSpan("jwt.verify", "internal");
         try {
-            // 1. Extract email from token
-            email = jwtUtil.tryExtractEmail(token);
+            // 1. Extract email from token (refresh tokens are rejected)
+            email = jwtUtil.tryExtractAccessEmail(token);
 
             // 2. Validate token signature and expiration
             if (!jwtUtil.validateToken(token)) {
@@ -73,6 +121,8 @@ public class JwtFilter extends OncePerRequestFilter {
             log.warn("JwtFilter : Failed to extract email from token. Error: {}", e.getMessage());
             sendUnauthorized(response, "Access token expired");
             return;
+        } finally {
+            tracer.end(jwtSpan);
         }
 
         // 3. Only set security context if not already set
@@ -80,8 +130,10 @@ public class JwtFilter extends OncePerRequestFilter {
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
             // 4. Ensure user exists in DB (token might be valid but user deleted/deactivated)
-            User user = repo.findByEmail(email).orElse(null);
-            if (user == null) {
+            // Keyed on the token subject, a user who just signed up is looked up on the primary
+            User user = stickiness.callAs(email,
+                    () -> readOnlyTransaction.execute(status -> repo.findByEmail(email).orElse(null)));
+            if (user == null || user.getDeletedAt() != null) {
                 log.warn("JwtFilter : User not found for the given token");
                 sendUnauthorized(response, "Access token expired");
                 return;
@@ -4,6 +4,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -14,7 +15,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Generate new tokens
@@ -23,6 +26,9 @@ import java.util.Date;
 @Slf4j
 public class JwtUtil {
 
+    public static final Duration ACCESS_TOKEN_VALIDITY = Duration.ofHours(1);
+    public static final Duration REFRESH_TOKEN_VALIDITY = Duration.ofDays(7);
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -43,7 +49,7 @@ public class JwtUtil {
      */
     public String generateToken(String email, boolean isRefreshToken) {
         long now = System.currentTimeMillis();
-        long expiry = isRefreshToken ? 1000L * 60 * 60 * 24 * 7 : 1000L * 60 * 60;
+        long expiry = (isRefreshToken ? REFRESH_TOKEN_VALIDITY : ACCESS_TOKEN_VALIDITY).toMillis();
 
         return Jwts.builder()
                 .setSubject(email)
@@ -53,6 +59,49 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Generates a refresh token for one signed-in device (session).
+     * Every token gets a unique id (jti), so a rotated token never equals its successor.
+     *
+     * @param email     : to encode in token
+     * @param name      : user's display name, returned on refresh without loading the user
+     * @param sessionId : device session the token belongs to
+     * @return signed JWT valid for {@link #REFRESH_TOKEN_VALIDITY}
+     */
+    public String generateRefreshToken(String email, String name, String sessionId) {
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(email)
+                .claim("sid", sessionId)
+                .claim("name", name)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + REFRESH_TOKEN_VALIDITY.toMillis()))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verifies a refresh token and returns its claims.
+     *
+     * @throws ResponseStatusException 401 if the token is invalid, expired or lacks a session
+     */
+    public Claims parseRefreshToken(String token) {
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Invalid refresh token: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Session expired. Please login again");
+        }
+        if (claims.getId() == null || claims.get("sid") == null) {
+            log.warn("Refresh token without session id");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token. Please login again");
+        }
+        return claims;
+    }
+
     /**
      * Extract email(subject) from JWT
      *
@@ -89,10 +138,21 @@ public class JwtUtil {
     }
 
     /**
-     * Extracts email (subject) from token. Throws JwtException if invalid/expired.
+     * Extracts email (subject) from an access token. Throws JwtException if invalid/expired,
+     * or if it is a refresh token: those stay valid for days and are revoked server-side, so
+     * they must never authenticate API calls. Refresh tokens issued before sessions existed
+     * carry no session id and are told apart by their lifetime.
      */
-    public String tryExtractEmail(String token) throws JwtException {
-        return extractAllClaims(token).getSubject(); // throws raw JwtException
+    public String tryExtractAccessEmail(String token) throws JwtException {
+        Claims claims = extractAllClaims(token); // throws raw JwtException
+        if (claims.get("sid") != null) {
+            throw new UnsupportedJwtException("Refresh token used as access token");
+        }
+        if (claims.getIssuedAt() == null || claims.getExpiration() == null
+                || claims.getExpiration().getTime() - claims.getIssuedAt().getTime() > ACCESS_TOKEN_VALIDITY.toMillis()) {
+            throw new UnsupportedJwtException("Token lifetime exceeds an access token's");
+        }
+        return claims.getSubject();
     }
 
     /**
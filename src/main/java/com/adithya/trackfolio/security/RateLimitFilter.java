@@ -0,0 +1,132 @@
+package com.adithya.trackfolio.security;
+
+import com.adithya.trackfolio.config.RateLimitProperties;
+import com.adithya.trackfolio.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user / per-IP rate limiting for the expensive routes (AI chat, BCrypt-backed auth).
+ * Runs right after {@link JwtFilter}, so authenticated routes can be limited per user without
+ * another lookup. Over-limit requests get 429 with a Retry-After header.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final List<LimitedRoute> routes = new ArrayList<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.add(new LimitedRoute(
+                    PathPatternParser.defaultInstance.parse(route.getPath()),
+                    route.getKey(),
+                    new RateLimiter(route.getCapacity(), route.getPeriod(), properties.getMaxKeys()),
+                    Counter.builder("trackfolio.ratelimit.rejected")
+                            .description("Requests rejected with 429")
+                            .tag("route", route.getPath())
+                            .register(meterRegistry)));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route != null) {
+            String key = route.key() == RateLimitProperties.Key.USER ? userKey(request) : "ip:" + clientIp(request);
+            long waitNanos = route.limiter().tryAcquire(key);
+            if (waitNanos > 0) {
+                route.rejected().increment();
+                log.warn("Rate limit hit on {} for {}", route.pattern().getPatternString(), key);
+                sendTooManyRequests(response, waitNanos);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    void evictIdleBuckets() {
+        routes.forEach(route -> route.limiter().evictIdle());
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (LimitedRoute route : routes) {
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Falls back to the IP when the request is not authenticated
+    private String userKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            return "ip:" + clientIp(request);
+        }
+        return "user:" + auth.getName();
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType("application/json");
+
+        String json = String.format("""
+                {
+                  "timestamp": "%s",
+                  "status": 429,
+                  "error": "Too Many Requests",
+                  "message": "Too many requests. Please retry in %d seconds"
+                }
+                """, java.time.Instant.now(), retryAfter);
+
+        response.getWriter().write(json);
+    }
+
+    private record LimitedRoute(PathPattern pattern, RateLimitProperties.Key key, RateLimiter limiter, Counter rejected) {
+    }
+}
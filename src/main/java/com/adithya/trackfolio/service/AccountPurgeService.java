@@ -0,0 +1,155 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Background purger for accounts tombstoned through {@link AuthService#markAccountForDeletion()}.
+ * Data is removed in bounded chunks, each in its own short transaction, with a pause between
+ * chunks so a large purge never holds locks or pooled connections for long.
+ * Progress is persisted implicitly: the user row is deleted last, so a purge interrupted by a
+ * restart resumes where it stopped on the next run.
+ * Runs as a {@link ClusterJobScheduler} job, so only one instance purges at a time.
+ */
+@Slf4j
+@Service
+public class AccountPurgeService {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterJobScheduler jobScheduler;
+
+    // Purge order matters: rows referencing drives go before the drives themselves
+    private final Map<String, ToIntFunction<Long>> steps = new LinkedHashMap<>();
+    private final Map<String, Counter> purgedRows = new LinkedHashMap<>();
+    private final Counter purgedAccounts;
+    private final AtomicLong pendingAccounts = new AtomicLong();
+
+    @Value("${app.purge.enabled:true}")
+    private boolean enabled;
+
+    // Fixed rate ("PT1M") or cron expression
+    @Value("${app.purge.interval:PT1M}")
+    private String interval;
+
+    @Value("${app.purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.purge.accounts-per-run:10}")
+    private int accountsPerRun;
+
+    @Value("${app.purge.throttle:PT0.05S}")
+    private Duration throttle;
+
+    public AccountPurgeService(UserRepository userRepository,
+                               SkillRepository skillRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               JDRepository jdRepository,
+                               NoteRepository noteRepository,
+                               ChecklistRepository checklistRepository,
+                               DriveRepository driveRepository,
+                               ReminderDeliveryRepository reminderDeliveryRepository,
+                               PlatformTransactionManager transactionManager,
+                               ClusterJobScheduler jobScheduler,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobScheduler = jobScheduler;
+
+        steps.put("refresh_tokens", userId -> refreshTokenRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("user_skills", userId -> skillRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("jd_details", userId -> jdRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("notes", userId -> noteRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("checklist", userId -> checklistRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("reminder_delivery", userId -> reminderDeliveryRepository.deleteChunkByUserId(userId, chunkSize));
+        steps.put("drive_summary", userId -> driveRepository.deleteChunkByUserId(userId, chunkSize));
+
+        steps.keySet().forEach(table -> purgedRows.put(table, Counter.builder("trackfolio.purge.rows")
+                .description("Rows removed by the background account purger")
+                .tag("table", table)
+                .register(meterRegistry)));
+        this.purgedAccounts = Counter.builder("trackfolio.purge.accounts")
+                .description("Accounts fully purged")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.purge.pending", pendingAccounts, AtomicLong::get)
+                .description("Accounts waiting to be purged")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void schedule() {
+        jobScheduler.register("account-purge", ClusterJobScheduler.Schedule.parse(interval), this::purgeDeletedAccounts);
+    }
+
+    /**
+     * Picks up tombstoned accounts and purges them one at a time.
+     */
+    public void purgeDeletedAccounts() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> userIds = userRepository.findDeletedUserIds(PageRequest.of(0, accountsPerRun));
+        pendingAccounts.set(userRepository.countByDeletedAtIsNotNull());
+
+        for (Long userId : userIds) {
+            try {
+                purgeAccount(userId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Account purge interrupted for user {}", userId);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Account purge failed for user {}, will retry on next run", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Removes all data of a tombstoned user chunk by chunk, then the user row itself.
+     */
+    void purgeAccount(Long userId) throws InterruptedException {
+        long started = System.nanoTime();
+
+        for (Map.Entry<String, ToIntFunction<Long>> step : steps.entrySet()) {
+            int deleted;
+            do {
+                deleted = inTransaction(() -> step.getValue().applyAsInt(userId));
+                purgedRows.get(step.getKey()).increment(deleted);
+                if (deleted > 0 && !throttle.isZero()) {
+                    Thread.sleep(throttle.toMillis());
+                }
+            } while (deleted >= chunkSize);
+        }
+
+        inTransaction(() -> {
+            userRepository.deleteByUserId(userId);
+            return 1;
+        });
+        purgedAccounts.increment();
+        pendingAccounts.updateAndGet(pending -> Math.max(0, pending - 1));
+        log.info("Purged account of user {} in {} ms", userId, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private int inTransaction(IntSupplier work) {
+        Integer result = transactionTemplate.execute(status -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+}
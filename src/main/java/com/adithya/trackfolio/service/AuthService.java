@@ -1,22 +1,23 @@
 package com.adithya.trackfolio.service;
 
+import com.adithya.trackfolio.config.ReplicaStickiness;
 import com.adithya.trackfolio.dto.AuthRequest;
 import com.adithya.trackfolio.dto.AuthResponse;
 import com.adithya.trackfolio.dto.RegisterRequest;
-import com.adithya.trackfolio.entity.DriveSummary;
 import com.adithya.trackfolio.entity.User;
 import com.adithya.trackfolio.repository.*;
 import com.adithya.trackfolio.security.JwtUtil;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
@@ -29,7 +30,7 @@ import java.util.regex.Pattern;
 public class AuthService {
 
     private final UserRepository repo;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final DriveRepository driveRepository;
@@ -38,6 +39,12 @@ public class AuthService {
     private final JDRepository jdRepository;
     private final SkillRepository skillRepository;
     private final ChatService chatService;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+    private final TaskExecutor applicationTaskExecutor;
+    private final ReplicaStickiness replicaStickiness;
+    private final CacheInvalidationService cacheInvalidation;
 
     private final Pattern gmailPattern = Pattern.compile("^[a-zA-Z0-9._%+-]+@gmail\\.com$");
 
@@ -67,29 +74,21 @@ public class AuthService {
         }
 
         //Hash password
-        String encodedPswd = encoder.encode(request.getPassword());
-        String accessToken = jwtUtil.generateToken(request.getEmail(), false);
-        String refreshToken = jwtUtil.generateToken(request.getEmail(), true);
-
+        String encodedPswd = passwordHashing.encode(request.getPassword());
         User user = User.builder()
                 .email(request.getEmail())
                 .name(request.getName())
                 .password(encodedPswd)
-                .refreshToken(refreshToken)
                 .build();
 
         repo.save(user);
+        // Not authenticated yet, so the commit cannot tell whose reads should stay on the primary
+        replicaStickiness.recordWrite(user.getEmail());
+        String accessToken = jwtUtil.generateToken(request.getEmail(), false);
+        String refreshToken = refreshTokenService.issue(user);
         log.info("Details of {} saved to db. Tokens returned.", user.getEmail());
 
-        // prewarm call executed asynchronously
-        new Thread(() -> {
-            try {
-                String prewarmResponse = chatService.prewarm();
-                log.info("Prewarm completed: {}", prewarmResponse);
-            } catch (Exception e) {
-                log.error("Prewarm failed", e);
-            }
-        }).start();
+        prewarmAiCore();
 
         String userName = user.getName();
         return new AuthResponse(accessToken, refreshToken, userName);
@@ -113,74 +112,65 @@ public class AuthService {
 
         User user = optionalUser.get();
 
+        if (user.getDeletedAt() != null) {
+            log.warn("Login failed: account {} is scheduled for deletion", request.getEmail());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No user found");
+        }
+
         //validate password
-        if (!encoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
             log.warn("Invalid password");
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid password");
         }
 
-        String accessToken = jwtUtil.generateToken(user.getEmail(), false);
-        String refreshToken = jwtUtil.generateToken(user.getEmail(), true);
+        // Bring hashes made with an older BCrypt cost up to date
+        if (passwordHashing.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashing.encode(request.getPassword()));
+            repo.save(user);
+            log.info("Password hash of {} upgraded to the current cost", user.getEmail());
+        }
 
-        user.setRefreshToken(refreshToken);
-        repo.save(user);
+        // Each login is a new device session; sessions on other devices stay valid
+        String accessToken = jwtUtil.generateToken(user.getEmail(), false);
+        String refreshToken = refreshTokenService.issue(user);
         log.info("User email : {} logged in. Tokens returned.", user.getEmail());
 
-        // prewarm call executed asynchronously
-        new Thread(() -> {
-            try {
-                String prewarmResponse = chatService.prewarm();
-                log.info("Prewarm completed: {}", prewarmResponse);
-            } catch (Exception e) {
-                log.error("Prewarm failed", e);
-            }
-        }).start();
+        prewarmAiCore();
 
         String userName = user.getName();
         return new AuthResponse(accessToken, refreshToken, userName);
     }
 
     /**
-     * Handles regeneration of access token
+     * Handles regeneration of access token.
+     * The refresh token is rotated: the response carries its successor and the submitted one
+     * stops working. Deleted accounts have no sessions left, so they fail here as well.
      *
      * @param refreshToken : refresh token
-     * @return new access token
+     * @return new access and refresh tokens
      */
     public AuthResponse generateAccessToken(String refreshToken) {
 
-        String email = jwtUtil.extractEmail(refreshToken); // throws on failure
-
-        User user = repo.findByEmail(email)
-                .orElseThrow(() -> {
-                    log.warn("User not found for extracted email address : {}", email);
-                    return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token. Please login again");
-                });
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken); // throws on failure
 
-        if (!jwtUtil.validateToken(refreshToken)) {
-            log.warn("Token validation failed");
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Session expired. Please login again");
-        }
+        String newAccessToken = jwtUtil.generateToken(rotation.email(), false);
+        log.info("New accessToken generated and returned");
 
-        if (!refreshToken.equals(user.getRefreshToken())) {
-            log.warn("Submitted token doesnt match with user's token");
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token. Please login again");
-        }
+        prewarmAiCore();
 
-        String newAccessToken = jwtUtil.generateToken(user.getEmail(), false);
-        log.info("New accessToken generated and returned");
+        return new AuthResponse(newAccessToken, rotation.refreshToken(), rotation.userName());
+    }
 
-        // prewarm call executed asynchronously
-        new Thread(() -> {
+    // Runs on the application task executor: virtual threads when spring.threads.virtual.enabled is set
+    private void prewarmAiCore() {
+        applicationTaskExecutor.execute(() -> {
             try {
                 String prewarmResponse = chatService.prewarm();
                 log.info("Prewarm completed: {}", prewarmResponse);
             } catch (Exception e) {
                 log.error("Prewarm failed", e);
             }
-        }).start();
-
-        String userName = user.getName();
-        return new AuthResponse(newAccessToken, refreshToken, userName);
+        });
     }
 
     private Long getUserIdFromContext() {
@@ -193,35 +183,44 @@ public class AuthService {
     /**
      * Deletes the current user's account along with all associated data,
      * including drives, job descriptions, notes, checklists, and skills.
+     * Each table is cleared with a single set-based statement, so the number of
+     * statements is constant regardless of how many drives the user has.
      * This operation is transactional; all deletions succeed or none are applied.
      */
     @Transactional
     public void deleteAccount() {
         Long userId = getUserIdFromContext();
 
-        // 1. Delete skills
+        // 1. Delete skills and sign-in sessions
         skillRepository.deleteByUserId(userId);
+        refreshTokenRepository.deleteByUserId(userId);
 
-        // 2. Get all drives
-        List<DriveSummary> drives = driveRepository.findByUserId(userId);
-
-        for (DriveSummary drive : drives) {
-            Long driveId = drive.getId();
-
-            // 2a. Delete JD if exists
-            jdRepository.findByDriveId(driveId).ifPresent(jd -> jdRepository.delete(jd));
-
-            // 2b. Delete notes
-            noteRepository.deleteByDriveId(driveId);
-
-            // 2c. Delete checklist items
-            checklistRepository.deleteByDriveId(driveId);
-        }
+        // 2. Delete JDs, notes, checklist items and delivered reminders of every drive owned by the user
+        jdRepository.deleteByUserId(userId);
+        noteRepository.deleteByUserId(userId);
+        checklistRepository.deleteByUserId(userId);
+        reminderDeliveryRepository.deleteByUserId(userId);
 
         // 3. Delete drives
         driveRepository.deleteByUserId(userId);
 
         // 4. Delete user
-        userRepository.deleteById(userId);
+        userRepository.deleteByUserId(userId);
+        cacheInvalidation.invalidate(Topic.USER, userId);
+    }
+
+    /**
+     * Tombstones the current user's account and returns immediately.
+     * The user's tokens are rejected from this point on, while {@link AccountPurgeService}
+     * removes the associated data in the background.
+     */
+    @Transactional
+    public void markAccountForDeletion() {
+        Long userId = getUserIdFromContext();
+
+        userRepository.markDeleted(userId, LocalDateTime.now());
+        refreshTokenService.revokeAll(userId);
+        cacheInvalidation.invalidate(Topic.USER, userId);
+        log.info("User {} marked for deletion", userId);
     }
 }
\ No newline at end of file
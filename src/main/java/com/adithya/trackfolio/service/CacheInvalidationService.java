@@ -0,0 +1,356 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.DatabaseFeatures;
+import com.adithya.trackfolio.util.Transactions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the in-process caches of all instances coherent.
+ * Services report what changed with {@link #invalidate}; once the transaction commits the
+ * local caches are evicted right away, and the event is queued for the other instances.
+ * Queued events are deduplicated and sent in batches through Postgres NOTIFY, so a burst of
+ * writes costs a handful of notifications. Every instance LISTENs on a dedicated connection
+ * (outside the Hikari pool) and evicts what the others changed. After that connection was lost,
+ * all caches are cleared since notifications sent in the meantime are gone.
+ * Without Postgres (H2 in tests) invalidation is local only.
+ * <p>
+ * The listener is a lifecycle bean: it closes its connection when the context stops, which
+ * includes a CRaC checkpoint, and reconnects with a full cache clear when it starts again.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationService implements SmartLifecycle {
+
+    // NOTIFY payloads are limited to 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    /**
+     * What changed. Keys are the user id, plus the drive id for {@link #DRIVE}.
+     */
+    public enum Topic {
+        USER('U'),     // account deleted or tombstoned
+        DRIVES('L'),   // the user's list of drives
+        DRIVE('D'),    // JD text of one drive
+        SKILLS('S');   // the user's skills
+
+        private final char code;
+
+        Topic(char code) {
+            this.code = code;
+        }
+    }
+
+    public record Invalidation(Topic topic, long userId, Long driveId) {
+
+        String encode() {
+            String key = topic.code + Long.toString(userId);
+            return driveId == null ? key : key + "." + driveId;
+        }
+
+        static Invalidation decode(String token) {
+            if (token.isEmpty()) {
+                throw new IllegalArgumentException("Empty invalidation");
+            }
+            Topic topic = Arrays.stream(Topic.values())
+                    .filter(t -> t.code == token.charAt(0))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown topic in " + token));
+            String key = token.substring(1);
+            int dot = key.indexOf('.');
+            return dot < 0
+                    ? new Invalidation(topic, Long.parseLong(key), null)
+                    : new Invalidation(topic, Long.parseLong(key.substring(0, dot)), Long.parseLong(key.substring(dot + 1)));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseFeatures databaseFeatures;
+    private final DataSourceProperties dataSourceProperties;
+
+    private final Map<Topic, List<Consumer<Invalidation>>> handlers = new EnumMap<>(Topic.class);
+    private final List<Runnable> resyncHandlers = new CopyOnWriteArrayList<>();
+
+    // Tells our own notifications apart from the other instances'
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService notifier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-notify");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+    private volatile boolean distributed;
+    // Set after the first connection; any later one may have missed notifications
+    private volatile boolean connectedBefore;
+    private Thread listener;
+
+    private final Counter published;
+    private final Counter notifications;
+    private final Counter received;
+    private final Counter failures;
+
+    @Value("${app.cache-invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache-invalidation.channel:trackfolio_cache}")
+    private String channel;
+
+    @Value("${app.cache-invalidation.batch-delay:PT0.05S}")
+    private Duration batchDelay;
+
+    @Value("${app.cache-invalidation.poll-timeout:PT0.5S}")
+    private Duration pollTimeout;
+
+    @Value("${app.cache-invalidation.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    public CacheInvalidationService(JdbcTemplate jdbcTemplate,
+                                    DatabaseFeatures databaseFeatures,
+                                    DataSourceProperties dataSourceProperties,
+                                    MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseFeatures = databaseFeatures;
+        this.dataSourceProperties = dataSourceProperties;
+        for (Topic topic : Topic.values()) {
+            handlers.put(topic, new CopyOnWriteArrayList<>());
+        }
+        this.published = Counter.builder("trackfolio.cache.invalidations")
+                .description("Cache invalidation events")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        this.received = Counter.builder("trackfolio.cache.invalidations")
+                .description("Cache invalidation events")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.notifications = Counter.builder("trackfolio.cache.notifications")
+                .description("NOTIFY statements sent, each carrying a batch of invalidations")
+                .register(meterRegistry);
+        this.failures = Counter.builder("trackfolio.cache.notify.failures")
+                .description("Failed NOTIFY batches, retried on the next flush")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        distributed = enabled && databaseFeatures.isPostgres();
+        running = true;
+        if (!distributed) {
+            log.info("Cache invalidation is local only");
+            return;
+        }
+        listener = new Thread(this::listen, "cache-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Closes the LISTEN connection and sends what is still queued.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                // The listener notices within one poll and closes its connection on the way out
+                listener.join(pollTimeout.toMillis() + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener = null;
+        }
+        if (distributed) {
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        notifier.shutdown();
+    }
+
+    /**
+     * Registers a cache eviction for a topic; runs for local and remote changes.
+     */
+    public void subscribe(Topic topic, Consumer<Invalidation> handler) {
+        handlers.get(topic).add(handler);
+    }
+
+    /**
+     * Registers a full cache clear, run when notifications may have been missed.
+     */
+    public void onResync(Runnable handler) {
+        resyncHandlers.add(handler);
+    }
+
+    public void invalidate(Topic topic, Long userId) {
+        invalidate(new Invalidation(topic, userId, null));
+    }
+
+    public void invalidate(Topic topic, Long userId, Long driveId) {
+        invalidate(new Invalidation(topic, userId, driveId));
+    }
+
+    /**
+     * Evicts locally and notifies the other instances once the current transaction commits,
+     * or immediately without a transaction.
+     */
+    public void invalidate(Invalidation invalidation) {
+        Transactions.afterCommit(() -> {
+            dispatch(invalidation);
+            if (distributed && pending.add(invalidation.encode())) {
+                published.increment();
+                scheduleFlush();
+            }
+        });
+    }
+
+    private void dispatch(Invalidation invalidation) {
+        for (Consumer<Invalidation> handler : handlers.get(invalidation.topic())) {
+            handler.accept(invalidation);
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                notifier.schedule(this::flush, batchDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false); // shutting down; stop() flushes what is left
+            }
+        }
+    }
+
+    // Sends everything queued so far, split into payloads under the NOTIFY size limit
+    private void flush() {
+        flushScheduled.set(false);
+        List<String> batch = new ArrayList<>();
+        for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder payload = new StringBuilder(nodeId);
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String token = batch.get(i);
+            if (payload.length() > nodeId.length()
+                    && payload.length() + 1 + token.length() > MAX_PAYLOAD_BYTES) {
+                send(payload.toString(), batch.subList(start, i));
+                payload = new StringBuilder(nodeId);
+                start = i;
+            }
+            payload.append(payload.length() == nodeId.length() ? ' ' : ',').append(token);
+        }
+        send(payload.toString(), batch.subList(start, batch.size()));
+    }
+
+    private void send(String payload, List<String> tokens) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+            notifications.increment();
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.warn("Cache invalidation NOTIFY failed, retrying: {}", e.getMostSpecificCause().getMessage());
+            pending.addAll(tokens);
+            if (running) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), listenerProperties())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for cache invalidations on channel '{}' as node {}", channel, nodeId);
+                if (connectedBefore) {
+                    resyncHandlers.forEach(Runnable::run);
+                    log.info("Cache invalidation listener reconnected, local caches cleared");
+                }
+                connectedBefore = true;
+
+                while (running) {
+                    PGNotification[] batch = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (batch != null) {
+                        for (PGNotification notification : batch) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                // Anything unexpected is handled like a lost connection: the reconnect clears all caches
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}: {}", reconnectDelay, e.toString());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Properties listenerProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", Objects.requireNonNullElse(dataSourceProperties.determinePassword(), ""));
+        properties.setProperty("ApplicationName", "trackfolio-cache-listener");
+        properties.setProperty("tcpKeepAlive", "true");
+        return properties;
+    }
+
+    // Payload: "<node id> <token>,<token>,..."
+    void handle(String payload) {
+        int space = payload.indexOf(' ');
+        if (space < 0 || payload.substring(0, space).equals(nodeId)) {
+            return;
+        }
+        for (String token : payload.substring(space + 1).split(",")) {
+            try {
+                dispatch(Invalidation.decode(token));
+                received.increment();
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed cache invalidation '{}'", token);
+            } catch (RuntimeException e) {
+                // A failing subscriber must not end the listener thread
+                log.error("Cache eviction failed for invalidation '{}'", token, e);
+            }
+        }
+    }
+}
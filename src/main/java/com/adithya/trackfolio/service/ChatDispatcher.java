@@ -0,0 +1,277 @@
+package com.adithya.trackfolio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admits AI-core calls under a global concurrency limit, serving waiting users fairly.
+ * Waiting calls are ordered by start-time fair queueing: every user's n-th queued call gets
+ * virtual time "now + n", so a user with ten questions queued interleaves with everyone else
+ * instead of blocking them. The queue is bounded, and calls that wait past their deadline are
+ * dropped instead of being sent to the AI core for an answer nobody will read.
+ * The call itself runs on the caller's thread once admitted; {@link #submitReactive} waits
+ * without holding a thread.
+ */
+@Slf4j
+@Service
+public class ChatDispatcher {
+
+    private static final int WAITING = 0;
+    private static final int HOLDING = 1;
+    private static final int DONE = 2;
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>();
+    // Virtual finish time of each user's last queued call
+    private final Map<Long, Long> lastTag = new HashMap<>();
+    private long virtualTime;
+    private long sequence;
+    private int inFlight;
+
+    private final Timer waitTimer;
+    private final DistributionSummary queuePosition;
+    private final Counter droppedFull;
+    private final Counter droppedExpired;
+
+    public ChatDispatcher(@Value("${app.chat.max-concurrent:4}") int maxConcurrent,
+                          @Value("${app.chat.max-queued:100}") int maxQueued,
+                          @Value("${app.chat.queue-timeout:PT20S}") Duration queueTimeout,
+                          MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+
+        this.waitTimer = Timer.builder("trackfolio.chat.queue.wait")
+                .description("Time a chat request waited for an AI-core slot")
+                .register(meterRegistry);
+        this.queuePosition = DistributionSummary.builder("trackfolio.chat.queue.position")
+                .description("Requests ahead of a chat request when it was queued")
+                .register(meterRegistry);
+        this.droppedFull = Counter.builder("trackfolio.chat.queue.dropped")
+                .description("Chat requests rejected without reaching the AI core")
+                .tag("reason", "full")
+                .register(meterRegistry);
+        this.droppedExpired = Counter.builder("trackfolio.chat.queue.dropped")
+                .description("Chat requests rejected without reaching the AI core")
+                .tag("reason", "expired")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.chat.queue.size", this, ChatDispatcher::queued)
+                .description("Chat requests waiting for an AI-core slot")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.chat.inflight", this, ChatDispatcher::inFlight)
+                .description("Chat requests currently calling the AI core")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for the user's turn, then runs the call.
+     *
+     * @throws ResponseStatusException 503 if the queue is full or the call waited too long
+     */
+    public <T> T submit(Long userId, Supplier<T> call) {
+        long start = System.nanoTime();
+        Ticket ticket = enqueue(userId);
+
+        if (ticket != null) {
+            awaitTurn(ticket, start);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #submit}: subscribes to the call once it is the user's turn.
+     * The slot is released when the call completes, fails or is cancelled (client gone), and a
+     * cancelled wait leaves the queue.
+     */
+    public <T> Flux<T> submitReactive(Long userId, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            Ticket ticket = enqueue(userId);
+            // WAITING -> HOLDING (admitted) or WAITING -> DONE (gave up), so the slot is released exactly once
+            AtomicInteger state = new AtomicInteger(WAITING);
+
+            Mono<Boolean> turn = ticket == null ? Mono.just(true) : Mono.fromFuture(ticket.admitted, true)
+                    .timeout(queueTimeout, Mono.fromSupplier(() -> state.compareAndSet(WAITING, DONE) && withdraw(ticket)))
+                    .doOnCancel(() -> {
+                        if (state.compareAndSet(WAITING, DONE)) {
+                            withdraw(ticket);
+                        }
+                    });
+
+            return turn.flatMapMany(admitted -> {
+                if (!admitted) {
+                    droppedExpired.increment();
+                    log.warn("Chat request of user {} dropped after waiting {} ms", userId,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return Flux.<T>error(busy());
+                }
+                if (!state.compareAndSet(WAITING, HOLDING)) {
+                    return Flux.<T>empty();
+                }
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return call.get();
+            }).doFinally(signal -> {
+                if (state.compareAndSet(HOLDING, DONE)) {
+                    release();
+                }
+            });
+        });
+    }
+
+    // Takes a free slot (returns null) or queues the call (returns its ticket)
+    private Ticket enqueue(Long userId) {
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrent && queue.isEmpty()) {
+                inFlight++;
+                return null;
+            }
+            if (queue.size() >= maxQueued) {
+                droppedFull.increment();
+                log.warn("Chat queue full ({}), rejecting request of user {}", maxQueued, userId);
+                throw busy();
+            }
+            long tag = Math.max(virtualTime, lastTag.getOrDefault(userId, 0L)) + 1;
+            lastTag.put(userId, tag);
+            Ticket ticket = new Ticket(userId, tag, sequence++);
+            queuePosition.record(queue.size());
+            queue.add(ticket);
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitTurn(Ticket ticket, long start) {
+        boolean admitted;
+        try {
+            admitted = ticket.admitted.get(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            admitted = withdraw(ticket);
+        } catch (ExecutionException e) {
+            admitted = false;
+        }
+        if (!admitted) {
+            droppedExpired.increment();
+            log.warn("Chat request of user {} dropped after waiting {} ms", ticket.userId,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            throw busy();
+        }
+    }
+
+    // Leaves the queue, unless the slot was granted at the same moment the wait timed out
+    private boolean withdraw(Ticket ticket) {
+        lock.lock();
+        try {
+            if (!ticket.admitted.isDone()) {
+                queue.remove(ticket);
+                forgetIfLast(ticket);
+                ticket.admitted.complete(false);
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (ticket.admitted.join()) {
+            // Admitted too late to be useful: hand the slot to the next caller
+            release();
+        }
+        return false;
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            while (inFlight < maxConcurrent && !queue.isEmpty()) {
+                Ticket next = queue.poll();
+                virtualTime = next.tag;
+                forgetIfLast(next);
+                inFlight++;
+                next.admitted.complete(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forgetIfLast(Ticket ticket) {
+        if (Objects.equals(lastTag.get(ticket.userId), ticket.tag)) {
+            lastTag.remove(ticket.userId);
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The assistant is busy. Please try again shortly");
+    }
+
+    private static final class Ticket implements Comparable<Ticket> {
+        private final Long userId;
+        private final long tag;
+        private final long sequence;
+        private final CompletableFuture<Boolean> admitted = new CompletableFuture<>();
+
+        Ticket(Long userId, long tag, long sequence) {
+            this.userId = userId;
+            this.tag = tag;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Ticket other) {
+            int byTag = Long.compare(tag, other.tag);
+            return byTag != 0 ? byTag : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -3,16 +3,28 @@ package com.adithya.trackfolio.service;
 import com.adithya.trackfolio.dto.ChatRequestDTO;
 import com.adithya.trackfolio.entity.JD;
 import com.adithya.trackfolio.entity.Skill;
+import com.adithya.trackfolio.entity.reactive.JdRow;
+import com.adithya.trackfolio.entity.reactive.SkillRow;
 import com.adithya.trackfolio.repository.JDRepository;
 import com.adithya.trackfolio.repository.SkillRepository;
 import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.repository.reactive.ReactiveJDRepository;
+import com.adithya.trackfolio.repository.reactive.ReactiveSkillRepository;
+import com.adithya.trackfolio.repository.reactive.ReactiveUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +40,11 @@ public class ChatService {
     private final SkillRepository skillRepository;
     private final UserRepository userRepository;
     private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final ChatDispatcher chatDispatcher;
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final ReactiveJDRepository reactiveJdRepository;
+    private final ReactiveSkillRepository reactiveSkillRepository;
 
     public String handleChat(ChatRequestDTO request) {
         // 1. Get email from JWT auth context
@@ -57,16 +74,69 @@ public class ChatService {
         // 6. Prepare JSON payload
         String aiRequestJson = String.format("{\"prompt\":\"%s\"}", escapeJson(prompt));
 
-        // 7. Send to AI-core microservice using WebClient
+        // 7. Send to AI-core microservice using WebClient, once it is this user's turn
         String aiCoreUrl = mainUrl + "/api/prompt/userPrompt";
 
-        return webClient.post()
-                .uri(aiCoreUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(aiRequestJson)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block(); // sync for now
+        return chatDispatcher.submit(userId, () -> callAiCore(aiCoreUrl, aiRequestJson));
+    }
+
+    /**
+     * Reactive variant of {@link #handleChat}: the lookups go through R2DBC (JD and skills in
+     * parallel) and the AI-core answer is streamed line by line as it arrives. No thread is
+     * held while waiting for the database, the chat queue or the AI core.
+     *
+     * @param email the authenticated user, resolved by the caller before going async
+     */
+    public Flux<String> streamChat(String email, ChatRequestDTO request) {
+        String aiCoreUrl = mainUrl + "/api/prompt/userPrompt";
+
+        return reactiveUserRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found")))
+                .flatMapMany(user -> Mono.zip(
+                                reactiveJdRepository.findByDriveId(request.getDriveId()).map(JdRow::jdText).defaultIfEmpty(""),
+                                reactiveSkillRepository.findByUserId(user.id()).map(SkillRow::skill).collectList())
+                        .flatMapMany(lookups -> {
+                            String prompt = buildPrompt(lookups.getT1(), lookups.getT2(), request.getQuestion());
+                            String aiRequestJson = String.format("{\"prompt\":\"%s\"}", escapeJson(prompt));
+                            return chatDispatcher.submitReactive(user.id(), () -> streamAiCore(aiCoreUrl, aiRequestJson));
+                        }));
+    }
+
+    private Flux<String> streamAiCore(String aiCoreUrl, String aiRequestJson) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return webClient.post()
+                    .uri(aiCoreUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(aiRequestJson)
+                    .retrieve()
+                    .bodyToFlux(String.class)
+                    .doFinally(signal -> sample.stop(Timer.builder("trackfolio.aicore.call")
+                            .description("Latency of prompt calls to the AI-core service")
+                            .tag("outcome", signal == SignalType.ON_COMPLETE ? "success" : "error")
+                            .register(meterRegistry)));
+        });
+    }
+
+    private String callAiCore(String aiCoreUrl, String aiRequestJson) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String response = webClient.post()
+                    .uri(aiCoreUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(aiRequestJson)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block(); // sync for now
+            outcome = "success";
+            return response;
+        } finally {
+            sample.stop(Timer.builder("trackfolio.aicore.call")
+                    .description("Latency of prompt calls to the AI-core service")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
 
     private String buildPrompt(String jdText, List<String> skills, String question) {
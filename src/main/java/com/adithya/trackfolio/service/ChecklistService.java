@@ -40,17 +40,17 @@ public class ChecklistService {
 
         // Transform incoming DTOs into checklist entities
         // Link them to the drive
+        // Maps checklist table to driveSummary
+        if (!checklistDTO.isEmpty() && !driveRepo.existsById(driveId)) {
+            log.warn("Drive with id {} not found", driveId);
+            throw new EntityNotFoundException("Drive with id " + driveId + " not found");
+        }
+        DriveSummary drive = driveRepo.getReferenceById(driveId);
+
         List<Checklist> checklists = checklistDTO.stream().map(dto -> {
             Checklist checklistObj = new Checklist();
             checklistObj.setContent(dto.getContent());
             checklistObj.setCompleted(dto.isCompleted());
-
-            // Maps checklist table to driveSummary
-            if (!driveRepo.existsById(driveId)) {
-                log.warn("Drive with id {} not found", driveId);
-                throw new EntityNotFoundException("Drive with id " + driveId + " not found");
-            }
-            DriveSummary drive = driveRepo.getReferenceById(driveId);
             checklistObj.setDrive(drive);
 
             return checklistObj;
@@ -67,6 +67,7 @@ public class ChecklistService {
      * @param driveId ID of the drive whose checklists are to be fetched
      * @return List of checklist DTOs
      */
+    @Transactional(readOnly = true)
     public List<ChecklistDTO> getChecklistsByDriveId(Long driveId) {
 
         //list (entities) -> checklistDTO -> list of DTOs
@@ -0,0 +1,301 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.DatabaseFeatures;
+import com.adithya.trackfolio.entity.ClusterJob;
+import com.adithya.trackfolio.repository.ClusterJobRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs periodic jobs exactly once across all instances.
+ * Every instance polls the registered jobs; to run one it must take the job's Postgres
+ * advisory lock, and then only runs it if the shared cluster_job row says it is due.
+ * The lock is a session lock on a pooled connection held for the run, so when an instance
+ * dies mid-run Postgres releases it and another instance takes over at its next poll.
+ * Jobs run on a small bounded executor and are expected to work in short chunked transactions.
+ * Without Postgres (H2 in tests) the advisory lock is skipped and jobs only guard against
+ * overlapping runs within this instance.
+ * <p>
+ * Jobs that only touch this instance's memory keep using {@code @Scheduled}.
+ */
+@Slf4j
+@Service
+public class ClusterJobScheduler {
+
+    // First key of the two-int advisory lock space, so job locks cannot collide with other users
+    private static final int LOCK_NAMESPACE = 0x74666A62;
+
+    /**
+     * When a job is due next, given when it was due last and the current time.
+     */
+    @FunctionalInterface
+    public interface Schedule {
+
+        LocalDateTime next(LocalDateTime previous, LocalDateTime now);
+
+        /**
+         * Every period, counted from the previous due time; missed runs are not made up.
+         */
+        static Schedule fixedRate(Duration period) {
+            return (previous, now) -> {
+                if (previous == null || !previous.plus(period).isAfter(now)) {
+                    return now.plus(period);
+                }
+                return previous.plus(period);
+            };
+        }
+
+        static Schedule cron(String expression) {
+            CronExpression cron = CronExpression.parse(expression);
+            return (previous, now) -> cron.next(now);
+        }
+
+        /**
+         * An ISO-8601 duration ("PT1M") for a fixed rate, anything else as a cron expression.
+         */
+        static Schedule parse(String value) {
+            return value.startsWith("P") ? fixedRate(Duration.parse(value)) : cron(value);
+        }
+    }
+
+    private final ClusterJobRepository jobRepository;
+    private final HikariDataSource dataSource;
+    private final DatabaseFeatures databaseFeatures;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Advisory lock key -> job name; two jobs sharing a key would silently block each other
+    private final Map<Integer, String> lockKeys = new ConcurrentHashMap<>();
+    private final String node = nodeName();
+
+    @Value("${app.jobs.poll-interval:PT5S}")
+    private Duration pollInterval;
+
+    public ClusterJobScheduler(ClusterJobRepository jobRepository,
+                               @Qualifier("primaryDataSource") HikariDataSource dataSource,
+                               DatabaseFeatures databaseFeatures,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.jobs.threads:2}") int threads) {
+        this.jobRepository = jobRepository;
+        this.dataSource = dataSource;
+        this.databaseFeatures = databaseFeatures;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        AtomicLong threadCount = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64),
+                runnable -> new Thread(runnable, "cluster-job-" + threadCount.incrementAndGet()));
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers a job; names identify the job across instances and must be stable.
+     * The name's hash is the job's advisory lock key, so it must not collide with another job's.
+     */
+    public void register(String name, Schedule schedule, Runnable task) {
+        String holder = lockKeys.putIfAbsent(lockKey(name), name);
+        if (holder != null) {
+            throw new IllegalStateException(holder.equals(name)
+                    ? "Job already registered: " + name
+                    : "Job " + name + " has the same advisory lock key as " + holder + ", rename one of them");
+        }
+        Job job = new Job(name, schedule, task,
+                Counter.builder("trackfolio.jobs.failures")
+                        .description("Failed runs of a cluster job")
+                        .tag("job", name)
+                        .register(meterRegistry));
+        jobs.put(name, job);
+        Gauge.builder("trackfolio.jobs.last.success", job.lastSuccessEpochSecond, AtomicLong::get)
+                .description("When this instance last completed the job successfully (epoch seconds)")
+                .tag("job", name)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.jobs.initial-delay:PT30S}", fixedDelayString = "${app.jobs.poll-interval:PT5S}")
+    void poll() {
+        long now = System.nanoTime();
+        for (Job job : jobs.values()) {
+            if (now - job.nextCheckNanos >= 0 && job.running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            runIfDue(job);
+                        } finally {
+                            job.running.set(false);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    job.running.set(false);
+                    log.warn("Job executor is full, {} waits for the next poll", job.name);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the job on the calling thread if it is due and no other instance holds it.
+     *
+     * @return true if the job ran
+     */
+    boolean runIfDue(String name) {
+        return runIfDue(jobs.get(name));
+    }
+
+    private boolean runIfDue(Job job) {
+        if (!databaseFeatures.isPostgres()) {
+            return runLocked(job);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!tryLock(connection, job.name)) {
+                job.checkAgainIn(pollInterval);
+                return false;
+            }
+            try {
+                return runLocked(job);
+            } finally {
+                unlock(connection, job.name);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not take the lock of job {}: {}", job.name, e.getMessage());
+            job.checkAgainIn(pollInterval);
+            return false;
+        }
+    }
+
+    // Caller holds the job's cluster lock
+    private boolean runLocked(Job job) {
+        LocalDateTime now = LocalDateTime.now();
+        ClusterJob state = transactionTemplate.execute(status -> jobRepository.findById(job.name)
+                .orElseGet(() -> jobRepository.save(ClusterJob.builder().name(job.name).nextRunAt(now).build())));
+        if (state.getNextRunAt().isAfter(now)) {
+            job.checkAgainAt(state.getNextRunAt());
+            return false;
+        }
+
+        state.setLastStartedAt(now);
+        state.setLastNode(node);
+        save(state);
+
+        long started = System.nanoTime();
+        String outcome = "success";
+        String error = null;
+        try {
+            job.task.run();
+            job.lastSuccessEpochSecond.set(System.currentTimeMillis() / 1000);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            error = e.toString();
+            job.failures.increment();
+            log.error("Job {} failed", job.name, e);
+        }
+        long elapsed = System.nanoTime() - started;
+        Timer.builder("trackfolio.jobs.duration")
+                .description("Run time of cluster jobs")
+                .tags("job", job.name, "outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        LocalDateTime finished = LocalDateTime.now();
+        state.setLastFinishedAt(finished);
+        state.setLastDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        state.setLastStatus(outcome.toUpperCase());
+        state.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+        state.setNextRunAt(job.schedule.next(state.getNextRunAt(), finished));
+        save(state);
+        job.checkAgainAt(state.getNextRunAt());
+        return true;
+    }
+
+    private void save(ClusterJob state) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.save(state));
+    }
+
+    private static boolean tryLock(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, lockKey(name));
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    // A connection that fails here is broken and discarded by the pool, which ends the lock with the session
+    private static int lockKey(String name) {
+        return name.hashCode();
+    }
+
+    private static void unlock(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, lockKey(name));
+            statement.execute();
+        }
+    }
+
+    private static String nodeName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private static final class Job {
+
+        private final String name;
+        private final Schedule schedule;
+        private final Runnable task;
+        private final Counter failures;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final AtomicLong lastSuccessEpochSecond = new AtomicLong();
+        // Local hint of when the shared row is worth reading again
+        private volatile long nextCheckNanos = System.nanoTime();
+
+        private Job(String name, Schedule schedule, Runnable task, Counter failures) {
+            this.name = name;
+            this.schedule = schedule;
+            this.task = task;
+            this.failures = failures;
+        }
+
+        private void checkAgainIn(Duration delay) {
+            nextCheckNanos = System.nanoTime() + delay.toNanos();
+        }
+
+        private void checkAgainAt(LocalDateTime time) {
+            checkAgainIn(Duration.between(LocalDateTime.now(), time));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.DatabaseFeatures;
+import com.adithya.trackfolio.dto.SearchHitDTO;
+import com.adithya.trackfolio.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Full-text search across the user's notes, checklist items and JD text.
+ * On Postgres it queries the GIN-indexed tsvector columns created by {@link DatabaseFeatures},
+ * ranking with ts_rank and building snippets with ts_headline for the returned page only.
+ * Other databases fall back to a case-insensitive substring scan.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentSearchService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int SNIPPET_RADIUS = 60;
+
+    private static final String FULL_TEXT_QUERY = """
+            WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query),
+                 user_drives AS (SELECT id, company_name FROM drive_summary WHERE user_id = :userId),
+                 hits AS (
+                     SELECT n.drive_id, 'note' AS source, n.content AS body, ts_rank(n.search_vector, q.query) AS rank
+                     FROM notes n, q WHERE n.search_vector @@ q.query AND n.drive_id IN (SELECT id FROM user_drives)
+                     UNION ALL
+                     SELECT c.drive_id, 'checklist', c.content, ts_rank(c.search_vector, q.query)
+                     FROM checklist c, q WHERE c.search_vector @@ q.query AND c.drive_id IN (SELECT id FROM user_drives)
+                     UNION ALL
+                     SELECT j.drive_id, 'jd', j.jd_text, ts_rank(j.search_vector, q.query)
+                     FROM jd_details j, q WHERE j.search_vector @@ q.query AND j.drive_id IN (SELECT id FROM user_drives)
+                     ORDER BY rank DESC
+                     LIMIT :limit)
+            SELECT h.drive_id, d.company_name, h.source, h.rank,
+                   ts_headline('english', h.body, q.query, 'MaxFragments=1, MaxWords=25, MinWords=8') AS snippet
+            FROM hits h JOIN user_drives d ON d.id = h.drive_id, q
+            ORDER BY h.rank DESC
+            """;
+
+    private static final String SUBSTRING_QUERY = """
+            SELECT h.drive_id, d.company_name, h.source, h.body AS snippet, 1.0 AS rank FROM (
+                SELECT n.drive_id, 'note' AS source, n.content AS body FROM notes n WHERE lower(n.content) LIKE :pattern
+                UNION ALL
+                SELECT c.drive_id, 'checklist', c.content FROM checklist c WHERE lower(c.content) LIKE :pattern
+                UNION ALL
+                SELECT j.drive_id, 'jd', j.jd_text FROM jd_details j WHERE lower(j.jd_text) LIKE :pattern
+            ) h JOIN drive_summary d ON d.id = h.drive_id
+            WHERE d.user_id = :userId
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserRepository userRepo;
+    private final DatabaseFeatures databaseFeatures;
+
+    private Long getUserIdFromContext() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepo.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"))
+                .getId();
+    }
+
+    /**
+     * Searches notes, checklist items and JD text of the authenticated user.
+     *
+     * @param query : free text, supports quoted phrases and -exclusions on Postgres
+     * @param limit : maximum number of hits
+     * @return : hits ordered by relevance, each with its drive id and a snippet
+     */
+    @Transactional(readOnly = true)
+    public List<SearchHitDTO> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        Long userId = getUserIdFromContext();
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", boundedLimit);
+
+        if (databaseFeatures.hasFullTextSearch()) {
+            params.addValue("query", query.trim());
+            return jdbcTemplate.query(FULL_TEXT_QUERY, params, hitMapper(null));
+        }
+
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        params.addValue("pattern", "%" + needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        return jdbcTemplate.query(SUBSTRING_QUERY, params, hitMapper(needle));
+    }
+
+    // needle is set in fallback mode, where the snippet is cut around the first occurrence in Java
+    private static RowMapper<SearchHitDTO> hitMapper(String needle) {
+        return (rs, rowNum) -> SearchHitDTO.builder()
+                .driveId(rs.getLong("drive_id"))
+                .companyName(rs.getString("company_name"))
+                .source(rs.getString("source"))
+                .snippet(needle == null ? rs.getString("snippet") : snippetAround(rs.getString("snippet"), needle))
+                .rank(rs.getDouble("rank"))
+                .build();
+    }
+
+    private static String snippetAround(String body, String needle) {
+        int at = body.toLowerCase(Locale.ROOT).indexOf(needle);
+        int start = Math.max(0, at - SNIPPET_RADIUS);
+        int end = Math.min(body.length(), Math.max(at, 0) + needle.length() + SNIPPET_RADIUS);
+        return (start > 0 ? "..." : "") + body.substring(start, end) + (end < body.length() ? "..." : "");
+    }
+}
@@ -0,0 +1,165 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.DatabaseFeatures;
+import com.adithya.trackfolio.config.ReplicaStickiness;
+import com.adithya.trackfolio.dto.DriveResponseDTO;
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import com.adithya.trackfolio.util.Trigrams;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix and fuzzy search over the company name and role of the user's drives.
+ * Uses the pg_trgm indexes when the extension is available; otherwise falls back to a
+ * per-user in-memory trigram index that is rebuilt lazily after the user's drives change.
+ */
+@Slf4j
+@Service
+public class DriveSearchService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final double SIMILARITY_THRESHOLD = 0.3; // pg_trgm's default
+
+    private final DriveRepository driveRepo;
+    private final UserRepository userRepo;
+    private final DatabaseFeatures databaseFeatures;
+    private final CacheInvalidationService cacheInvalidation;
+    private final ReplicaStickiness stickiness;
+    private final TransactionTemplate primaryRead;
+
+    // userId -> trigram index of that user's drives (fallback mode only)
+    private final Map<Long, List<IndexedDrive>> indexByUser = new ConcurrentHashMap<>();
+
+    @Value("${app.search.max-cached-users:10000}")
+    private int maxCachedUsers;
+
+    public DriveSearchService(DriveRepository driveRepo,
+                              UserRepository userRepo,
+                              DatabaseFeatures databaseFeatures,
+                              CacheInvalidationService cacheInvalidation,
+                              ReplicaStickiness stickiness,
+                              PlatformTransactionManager transactionManager) {
+        this.driveRepo = driveRepo;
+        this.userRepo = userRepo;
+        this.databaseFeatures = databaseFeatures;
+        this.cacheInvalidation = cacheInvalidation;
+        this.stickiness = stickiness;
+        // Index builds run in their own read-only transaction, on the primary
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidation.subscribe(Topic.DRIVES, invalidation -> evict(invalidation.userId()));
+        cacheInvalidation.subscribe(Topic.USER, invalidation -> evict(invalidation.userId()));
+        cacheInvalidation.onResync(indexByUser::clear);
+    }
+
+    private Long getUserIdFromContext() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepo.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"))
+                .getId();
+    }
+
+    /**
+     * Returns the user's drives whose company name or role starts with or closely resembles the query.
+     *
+     * @param query : text typed by the user
+     * @param limit : maximum number of results
+     * @return : ranked list of DTOs, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<DriveResponseDTO> suggest(String query, int limit) {
+        String normalized = Trigrams.normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Long userId = getUserIdFromContext();
+
+        if (databaseFeatures.hasTrigramSearch()) {
+            // normalize() leaves only letters, digits and spaces, so no LIKE escaping is needed
+            String prefix = normalized + "%";
+            return driveRepo.searchByCompanyOrRole(userId, normalized, prefix, boundedLimit).stream()
+                    .map(DriveSearchService::toDto)
+                    .toList();
+        }
+
+        Set<String> queryTrigrams = Trigrams.of(normalized);
+        return indexFor(userId).stream()
+                .map(drive -> new Scored(drive.drive(), drive.score(normalized, queryTrigrams)))
+                .filter(scored -> scored.score() >= SIMILARITY_THRESHOLD)
+                .sorted(Comparator.comparingDouble(Scored::score).reversed()
+                        .thenComparing(scored -> scored.drive().getDriveDatetime(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(boundedLimit)
+                .map(scored -> toDto(scored.drive()))
+                .toList();
+    }
+
+    // The user's drives changed, here or on another instance
+    private void evict(Long userId) {
+        indexByUser.remove(userId);
+    }
+
+    private List<IndexedDrive> indexFor(Long userId) {
+        if (indexByUser.size() >= maxCachedUsers && !indexByUser.containsKey(userId)) {
+            indexByUser.clear();
+            log.info("Drive search index cache reached {} users, cleared", maxCachedUsers);
+        }
+        return indexByUser.computeIfAbsent(userId, id -> stickiness.readPrimary(() -> primaryRead.execute(status ->
+                driveRepo.findByUserId(id).stream()
+                        .map(IndexedDrive::of)
+                        .toList())));
+    }
+
+    private static DriveResponseDTO toDto(DriveSummary d) {
+        return DriveResponseDTO.builder()
+                .id(d.getId())
+                .companyName(d.getCompanyName())
+                .role(d.getRole())
+                .driveDatetime(d.getDriveDatetime())
+                .isOnCampus(d.isOnCampus())
+                .build();
+    }
+
+    private record Scored(DriveSummary drive, double score) {
+    }
+
+    private record IndexedDrive(DriveSummary drive, String company, String role,
+                                Set<String> companyTrigrams, Set<String> roleTrigrams) {
+
+        static IndexedDrive of(DriveSummary drive) {
+            String company = Trigrams.normalize(drive.getCompanyName());
+            String role = Trigrams.normalize(drive.getRole());
+            return new IndexedDrive(drive, company, role, Trigrams.of(company), Trigrams.of(role));
+        }
+
+        // Same ranking as the SQL query: prefix matches first, then trigram similarity
+        double score(String query, Set<String> queryTrigrams) {
+            double companyScore = company.startsWith(query) ? 2.0 : Trigrams.similarity(companyTrigrams, queryTrigrams);
+            double roleScore = role.startsWith(query) ? 1.5 : Trigrams.similarity(roleTrigrams, queryTrigrams);
+            return Math.max(companyScore, roleScore);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.adithya.trackfolio.service;
 import com.adithya.trackfolio.dto.*;
 import com.adithya.trackfolio.entity.DriveSummary;
 import com.adithya.trackfolio.repository.*;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -31,6 +32,8 @@ public class DriveService {
     private final NoteRepository noteRepository;
     private final ChecklistRepository checklistRepository;
     private final JDRepository jdRepository;
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+    private final CacheInvalidationService cacheInvalidation;
 
     /**
      * Retrieves the authenticated user's ID from the JWT context.
@@ -48,9 +51,13 @@ public class DriveService {
     /**
      * Creates new drive if isUpdate is false
      * Updates old drive details if isUpdate is true
+     * The drive, its notes and its checklists are saved in one transaction. Updates bump the
+     * drive's version, so of two concurrent saves of the same drive one fails with 409.
      *
      * @param dto : Drive details
+     * @throws ResponseStatusException 409 if dto.version is set and the drive has changed since
      */
+    @Transactional
     public void saveDrive(DriveRequestDTO dto) {
 
         Long userId = getUserIdFromContext();
@@ -59,7 +66,7 @@ public class DriveService {
         if (dto.getIsUpdate() != null && dto.getIsUpdate()) {
 
             // check if drive exists
-            DriveSummary existing = driveRepo.findById(dto.getDriveId())
+            DriveSummary existing = driveRepo.findForSaveById(dto.getDriveId())
                     .orElseThrow(() -> {
                         log.warn("Drive not found for (Save drive)");
                         return new ResponseStatusException(HttpStatus.NOT_FOUND, "Drive not found");
@@ -71,12 +78,17 @@ public class DriveService {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized to update this drive");
             }
 
+            // saved from a tab that loaded an older version
+            if (dto.getVersion() != null && dto.getVersion() != existing.getVersion()) {
+                log.warn("Stale version {} of drive {} (current {})", dto.getVersion(), existing.getId(), existing.getVersion());
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Drive was modified elsewhere. Reload and try again");
+            }
+
             existing.setCompanyName(dto.getCompanyName());
             existing.setRole(dto.getRole());
             existing.setDriveDatetime(dto.getDriveDatetime());
             existing.setOnCampus(dto.getIsOnCampus());
 
-            driveRepo.save(existing);
             noteService.saveOrUpdateNotes(existing.getId(), dto.getNotes());
             log.info("Drive updated with notes");
             checklistService.saveOrUpdateChecklists(existing.getId(), dto.getChecklists());
@@ -96,6 +108,7 @@ public class DriveService {
             checklistService.saveOrUpdateChecklists(savedDrive.getId(), dto.getChecklists());
             log.info("New drive created with notes and checklists");
         }
+        cacheInvalidation.invalidate(Topic.DRIVES, userId);
     }
 
     /**
@@ -122,7 +135,7 @@ public class DriveService {
         }
 
         // Delete JD
-        jdRepository.findByDriveId(driveId).ifPresent(jd -> jdRepository.delete(jd));
+        jdRepository.deleteByDriveId(driveId);
 
         // Delete notes
         noteRepository.deleteByDriveId(driveId);
@@ -130,8 +143,13 @@ public class DriveService {
         // Delete checklist items
         checklistRepository.deleteByDriveId(driveId);
 
+        // Delete the record of delivered reminders
+        reminderDeliveryRepository.deleteByDriveId(driveId);
+
         // Delete drive summary
         driveRepo.deleteById(driveId);
+        cacheInvalidation.invalidate(Topic.DRIVES, userId);
+        cacheInvalidation.invalidate(Topic.DRIVE, userId, driveId);
         log.info("Drive deleted");
     }
 
@@ -142,6 +160,7 @@ public class DriveService {
      * @return DTO containing drive details
      * @throws ResponseStatusException if drive is not found or unauthorized
      */
+    @Transactional(readOnly = true)
     public DriveDetailsResponseDTO getDriveDetailsById(Long id) {
         Long userId = getUserIdFromContext();
 
@@ -169,6 +188,7 @@ public class DriveService {
                 .isOnCampus(drive.isOnCampus())
                 .notes(notes)
                 .checklists(checklists)
+                .version(drive.getVersion())
                 .build();
     }
 
@@ -189,6 +209,7 @@ public class DriveService {
      * @param date : date for which the drives have to be fetched
      * @return : A list of DTOs containing drive details. Return empty list if there are no drives on that date
      */
+    @Transactional(readOnly = true)
     public List<DriveResponseDTO> getDrivesForDate(LocalDate date) {
         Long userId = getUserIdFromContext();
         LocalDateTime start = date.atStartOfDay();
@@ -210,6 +231,7 @@ public class DriveService {
      * @return : A list of DTOs containing drive details.
      * @throws ResponseStatusException if the type is invalid.
      */
+    @Transactional(readOnly = true)
     public List<DriveResponseDTO> getDrivesByType(String type) {
         Long userId = getUserIdFromContext();
         LocalDateTime now = LocalDateTime.now();
@@ -249,6 +271,7 @@ public class DriveService {
      * @param companyName : Name of the Company hiring, for which the drives have to be fetched
      * @return : List DTOs containing drive details
      */
+    @Transactional(readOnly = true)
     public List<DriveResponseDTO> getDrivesByName(String companyName) {
         Long userId = getUserIdFromContext();
 
@@ -5,6 +5,9 @@ import com.adithya.trackfolio.entity.JD;
 import com.adithya.trackfolio.repository.DriveRepository;
 import com.adithya.trackfolio.repository.JDRepository;
 import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -27,6 +30,8 @@ public class JDService {
     private final DriveRepository driveRepo;
     private final JDRepository jdRepo;
     private final UserRepository userRepo;
+    private final CacheInvalidationService cacheInvalidation;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Retrieves the authenticated user's ID from the JWT context.
@@ -40,8 +45,10 @@ public class JDService {
 
     /**
      * validates if drive id belongs to the user
+     *
+     * @return the ID of the authenticated user
      */
-    private void validateDriveOwnership(Long driveId) {
+    private Long validateDriveOwnership(Long driveId) {
         Long userId = getUserIdFromContext();
 
         DriveSummary drive = driveRepo.findById(driveId)
@@ -54,6 +61,7 @@ public class JDService {
             log.warn("Drive {} does not belong to user {}", driveId, userId);
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Unauthorized to access this drive");
         }
+        return userId;
     }
 
     /**
@@ -72,9 +80,18 @@ public class JDService {
      * Extracts raw text content from a PDF file using Apache PDFBox.
      */
     private String extractTextFromPdf(MultipartFile pdfFile) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try (PDDocument document = PDDocument.load(pdfFile.getInputStream())) {
             PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+            String text = stripper.getText(document);
+            outcome = "success";
+            return text;
+        } finally {
+            sample.stop(Timer.builder("trackfolio.pdf.extract")
+                    .description("Time to parse an uploaded JD PDF and extract its text")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
 
@@ -84,7 +101,7 @@ public class JDService {
      */
     @Transactional
     public void saveOrUpdateJDText(Long driveId, String text) {
-        validateDriveOwnership(driveId);
+        Long userId = validateDriveOwnership(driveId);
 
         Optional<JD> existing = jdRepo.findByDriveId(driveId);
 
@@ -93,6 +110,7 @@ public class JDService {
         jd.setJdText(text);
 
         jdRepo.save(jd);
+        cacheInvalidation.invalidate(Topic.DRIVE, userId, driveId);
         log.info("Saved JD text for drive id {}", driveId);
     }
 
@@ -101,6 +119,7 @@ public class JDService {
      * Validates drive ownership before fetching.
      * Returns Optional.empty() if no JD record exists for the drive.
      */
+    @Transactional(readOnly = true)
     public Optional<JD> getJDByDriveId(Long driveId) {
         validateDriveOwnership(driveId);
         return jdRepo.findByDriveId(driveId);
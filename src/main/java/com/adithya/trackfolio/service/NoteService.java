@@ -40,17 +40,17 @@ public class NoteService {
 
         // Transform incoming DTOs into Note entities
         // Link them to the drive
+        // Maps notes table to driveSummary
+        if (!noteDTOs.isEmpty() && !driveRepo.existsById(driveId)) {
+            log.warn("Drive with id {} not found", driveId);
+            throw new EntityNotFoundException("Drive with id " + driveId + " not found");
+        }
+        DriveSummary drive = driveRepo.getReferenceById(driveId);
+
         List<Note> notes = noteDTOs.stream().map(dto -> {
             Note note = new Note();
             note.setContent(dto.getContent());
             note.setCompleted(dto.isCompleted());
-
-            // Maps notes table to driveSummary
-            if (!driveRepo.existsById(driveId)) {
-                log.warn("Drive with id {} not found", driveId);
-                throw new EntityNotFoundException("Drive with id " + driveId + " not found");
-            }
-            DriveSummary drive = driveRepo.getReferenceById(driveId);
             note.setDrive(drive);
 
             return note;
@@ -67,6 +67,7 @@ public class NoteService {
      * @param driveId ID of the drive whose notes are to be fetched
      * @return List of note DTOs
      */
+    @Transactional(readOnly = true)
     public List<NoteDTO> getNotesByDriveId(Long driveId) {
         List<Note> notes = noteRepo.findByDriveId(driveId);
         return notes.stream().map(note -> NoteDTO.builder()
@@ -0,0 +1,128 @@
+package com.adithya.trackfolio.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of on request threads.
+ * At most {@code threads} hashes run at once and at most {@code queue-size} wait; anything beyond
+ * that is rejected straight away with 503, so an auth spike can only use a fixed share of the CPU
+ * and of the request threads, and the rest of the API keeps its latency.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder encoder;
+    private final int strength;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder encoder,
+                                  @Value("${app.auth.bcrypt-strength:10}") int strength,
+                                  @Value("${app.auth.hashing.threads:2}") int threads,
+                                  @Value("${app.auth.hashing.queue-size:50}") int queueSize,
+                                  @Value("${app.auth.hashing.timeout:PT5S}") Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.strength = strength;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("trackfolio.auth.hash.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("trackfolio.auth.hash.rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.auth.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run("matches", () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True if the hash was made with a different cost than the configured one,
+     * so it should be replaced while the raw password is at hand (i.e. on login).
+     */
+    public boolean needsRehash(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$..., where 10 is the cost
+        String[] parts = encodedPassword == null ? new String[0] : encodedPassword.split("\\$");
+        if (parts.length < 3) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parts[2]) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T run(String operation, Supplier<T> hashing) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return Timer.builder("trackfolio.auth.bcrypt")
+                        .description("Time spent hashing or verifying passwords")
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+                        .record(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full, rejecting {}", operation);
+            throw busy();
+        }
+
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            log.warn("Password {} did not finish within {}", operation, timeout);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password " + operation + " failed", e.getCause());
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many sign-in attempts right now. Please try again shortly");
+    }
+}
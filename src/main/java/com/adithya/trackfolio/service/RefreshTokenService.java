@@ -0,0 +1,189 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.RefreshToken;
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.RefreshTokenRepository;
+import com.adithya.trackfolio.security.JwtUtil;
+import com.adithya.trackfolio.util.Transactions;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh tokens, one session per signed-in device.
+ * Only a SHA-256 digest of each token is stored. Every refresh rotates the token with a single
+ * conditional UPDATE, so a valid refresh costs no read, and a token that was already used
+ * matches no row. Ids of rotated tokens are also kept in memory until they expire: presenting
+ * one again is answered without the database and treated as theft, ending that session.
+ * Expired sessions are deleted by a {@link ClusterJobScheduler} job.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterJobScheduler jobScheduler;
+
+    // jti of rotated tokens -> their session and expiry
+    private final Map<String, Rotated> rotated = new ConcurrentHashMap<>();
+
+    @Value("${app.auth.refresh.max-remembered:100000}")
+    private int maxRemembered;
+
+    @Value("${app.auth.refresh.cleanup-chunk-size:1000}")
+    private int cleanupChunkSize;
+
+    // Fixed rate ("PT1H") or cron expression
+    @Value("${app.auth.refresh.cleanup-interval:PT1H}")
+    private String cleanupInterval;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtUtil jwtUtil,
+                               PlatformTransactionManager transactionManager,
+                               ClusterJobScheduler jobScheduler) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobScheduler = jobScheduler;
+    }
+
+    @PostConstruct
+    void schedule() {
+        jobScheduler.register("refresh-token-cleanup", ClusterJobScheduler.Schedule.parse(cleanupInterval), this::deleteExpired);
+    }
+
+    /**
+     * Starts a new device session for the user.
+     *
+     * @return the session's first refresh token
+     */
+    public String issue(User user) {
+        String sessionId = UUID.randomUUID().toString();
+        String token = jwtUtil.generateRefreshToken(user.getEmail(), user.getName(), sessionId);
+        LocalDateTime now = LocalDateTime.now();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .sessionId(sessionId)
+                .userId(user.getId())
+                .tokenHash(digest(token))
+                .createdAt(now)
+                .expiresAt(now.plus(JwtUtil.REFRESH_TOKEN_VALIDITY))
+                .build());
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for its successor.
+     *
+     * @throws ResponseStatusException 401 if the token is invalid, expired, revoked or already used
+     */
+    // A detected reuse still ends the session even though the request fails
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String refreshToken) {
+        Claims claims = jwtUtil.parseRefreshToken(refreshToken);
+        String tokenId = claims.getId();
+        String sessionId = claims.get("sid", String.class);
+
+        Rotated previous = rotated.get(tokenId);
+        if (previous != null) {
+            // The same token used twice: either a replay or a stolen copy, end the session for both
+            refreshTokenRepository.deleteBySessionId(previous.sessionId());
+            log.warn("Reuse of rotated refresh token, session {} revoked", previous.sessionId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token. Please login again");
+        }
+
+        String next = jwtUtil.generateRefreshToken(claims.getSubject(), claims.get("name", String.class), sessionId);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = refreshTokenRepository.rotate(sessionId, digest(refreshToken), digest(next),
+                now.plus(JwtUtil.REFRESH_TOKEN_VALIDITY), now);
+        if (updated == 0) {
+            log.warn("Refresh token of session {} is not current", sessionId);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid token. Please login again");
+        }
+
+        long expiresAt = claims.getExpiration().getTime();
+        Transactions.afterCommit(() -> remember(tokenId, sessionId, expiresAt));
+        return new Rotation(next, claims.getSubject(), claims.get("name", String.class));
+    }
+
+    /**
+     * Ends every session of the user.
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Forgets expired rotated token ids; every instance keeps its own.
+     */
+    @Scheduled(initialDelayString = "${app.auth.refresh.forget-interval:PT10M}",
+            fixedDelayString = "${app.auth.refresh.forget-interval:PT10M}")
+    void forgetExpired() {
+        long nowMillis = System.currentTimeMillis();
+        rotated.values().removeIf(entry -> entry.expiresAt() < nowMillis);
+    }
+
+    /**
+     * Deletes expired sessions in short transactions.
+     */
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpiredChunk(now, cleanupChunkSize));
+            deleted = chunk == null ? 0 : chunk;
+            total += deleted;
+        } while (deleted >= cleanupChunkSize);
+
+        if (total > 0) {
+            log.info("Deleted {} expired refresh token sessions", total);
+        }
+    }
+
+    // Best effort: when full, reuse is still rejected by the database, just not detected as theft
+    private void remember(String tokenId, String sessionId, long expiresAt) {
+        if (rotated.size() >= maxRemembered) {
+            long nowMillis = System.currentTimeMillis();
+            rotated.values().removeIf(entry -> entry.expiresAt() < nowMillis);
+            if (rotated.size() >= maxRemembered) {
+                return;
+            }
+        }
+        rotated.put(tokenId, new Rotated(sessionId, expiresAt));
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record Rotation(String refreshToken, String email, String userName) {
+    }
+
+    private record Rotated(String sessionId, long expiresAt) {
+    }
+}
@@ -0,0 +1,409 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.ReplicaStickiness;
+import com.adithya.trackfolio.dto.ReminderDTO;
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.ReminderDeliveryRepository;
+import com.adithya.trackfolio.repository.UpcomingDrive;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import com.adithya.trackfolio.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Pushes a reminder to the user's connected clients some time before each drive
+ * ({@code app.reminders.offsets}, e.g. a day and an hour before).
+ * Reminders firing within the next {@code horizon} sit in a {@link TimingWheel}, so adding,
+ * cancelling and firing one is O(1) however many are pending. The horizon is loaded in pages
+ * at startup and topped up every {@code refresh}; drive saves and deletions (here or on another
+ * instance) reload only that user's drives through the DRIVES cache invalidation, and the whole
+ * horizon is reloaded when invalidations may have been missed. Loading runs on its own thread,
+ * so the ticker thread only advances the wheel and never waits on the database.
+ * <p>
+ * Every instance keeps the whole horizon but only delivers to clients connected to it. A
+ * reminder is claimed in reminder_delivery before it is sent, so it reaches the user once
+ * across instances and restarts; the claim is released when no client took it. Users who were
+ * offline get the latest due reminder of each upcoming drive when they connect.
+ */
+@Slf4j
+@Service
+public class ReminderService {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int MAX_CLIENTS_PER_USER = 5;
+
+    private record ReminderKey(long driveId, long minutesBefore) {
+    }
+
+    private record Reminder(long driveId, long userId, String companyName, String role,
+                            LocalDateTime driveDatetime, LocalDateTime fireAt, long minutesBefore) {
+    }
+
+    private final DriveRepository driveRepository;
+    private final ReminderDeliveryRepository deliveryRepository;
+    private final UserRepository userRepository;
+    private final CacheInvalidationService cacheInvalidation;
+    private final ReplicaStickiness stickiness;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final List<Duration> offsets;
+    private final Duration maxOffset;
+    private final long lastMinutesBefore;
+    private final Duration horizon;
+    private final Duration refresh;
+    private final Duration tick;
+    private final Duration heartbeat;
+    private final Duration clientTimeout;
+    private final boolean enabled;
+
+    private final TimingWheel<ReminderKey, Reminder> wheel;
+    // userId -> drives with reminders in the wheel, to cancel them when the user's drives change
+    private final Map<Long, Set<Long>> drivesByUser = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> clients = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService loader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reminder-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Users whose reload is queued on the loader; a burst of drive changes reloads a user once
+    private final Set<Long> reloadsPending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor delivery;
+
+    private final Counter delivered;
+    private final Counter skippedOffline;
+    private final Counter skippedDelivered;
+    private final Counter dropped;
+
+    public ReminderService(DriveRepository driveRepository,
+                           ReminderDeliveryRepository deliveryRepository,
+                           UserRepository userRepository,
+                           CacheInvalidationService cacheInvalidation,
+                           ReplicaStickiness stickiness,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.reminders.enabled:true}") boolean enabled,
+                           @Value("${app.reminders.offsets:PT24H,PT1H}") List<Duration> offsets,
+                           @Value("${app.reminders.horizon:PT6H}") Duration horizon,
+                           @Value("${app.reminders.refresh:PT1H}") Duration refresh,
+                           @Value("${app.reminders.tick:PT1S}") Duration tick,
+                           @Value("${app.reminders.wheel-slots:4096}") int wheelSlots,
+                           @Value("${app.reminders.heartbeat:PT30S}") Duration heartbeat,
+                           @Value("${app.reminders.client-timeout:PT30M}") Duration clientTimeout) {
+        if (!refresh.minus(horizon).isNegative()) {
+            throw new IllegalArgumentException("app.reminders.refresh must be shorter than app.reminders.horizon");
+        }
+        this.driveRepository = driveRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.userRepository = userRepository;
+        this.cacheInvalidation = cacheInvalidation;
+        this.stickiness = stickiness;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.offsets = List.copyOf(offsets);
+        this.maxOffset = offsets.stream().max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+        this.lastMinutesBefore = offsets.stream().min(Comparator.naturalOrder()).orElse(Duration.ZERO).toMinutes();
+        this.horizon = horizon;
+        this.refresh = refresh;
+        this.tick = tick;
+        this.heartbeat = heartbeat;
+        this.clientTimeout = clientTimeout;
+        this.wheel = new TimingWheel<>(tick.toMillis(), wheelSlots, System.currentTimeMillis());
+        this.dropped = Counter.builder("trackfolio.reminders.dropped")
+                .description("Deliveries dropped because the delivery queue was full")
+                .register(meterRegistry);
+        this.delivery = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(10_000),
+                runnable -> new Thread(runnable, "reminder-delivery"),
+                (runnable, executor) -> {
+                    // Never blocks the ticker; a dropped reminder is still sent on the user's next connect
+                    dropped.increment();
+                    if (!executor.isShutdown()) {
+                        log.warn("Reminder delivery queue is full, dropping a delivery");
+                    }
+                });
+
+        Gauge.builder("trackfolio.reminders.pending", wheel, TimingWheel::size)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("trackfolio.reminders.clients", clients, map -> map.values().stream().mapToInt(List::size).sum())
+                .description("Connected reminder streams")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("trackfolio.reminders.delivered")
+                .description("Reminders pushed to users")
+                .register(meterRegistry);
+        this.skippedOffline = Counter.builder("trackfolio.reminders.skipped")
+                .description("Due reminders not pushed by this instance")
+                .tag("reason", "offline")
+                .register(meterRegistry);
+        this.skippedDelivered = Counter.builder("trackfolio.reminders.skipped")
+                .description("Due reminders not pushed by this instance")
+                .tag("reason", "delivered")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        cacheInvalidation.subscribe(Topic.DRIVES, invalidation -> queueReload(invalidation.userId()));
+        cacheInvalidation.subscribe(Topic.USER, invalidation -> cancelUser(invalidation.userId()));
+        // Drive changes made while the listener was disconnected are only in the database
+        cacheInvalidation.onResync(() -> {
+            try {
+                loader.execute(this::loadHorizon);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        });
+
+        loader.scheduleWithFixedDelay(this::loadHorizon, 0, refresh.toMillis(), TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::fireDue, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+        loader.shutdownNow();
+        delivery.shutdownNow();
+        clients.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Opens a reminder stream for the user; reminders that came due while the user was offline follow right away.
+     */
+    public SseEmitter connect(String email) {
+        Long userId = userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"))
+                .getId();
+
+        SseEmitter emitter = new SseEmitter(clientTimeout.toMillis());
+        List<SseEmitter> evicted = new ArrayList<>();
+        clients.compute(userId, (id, emitters) -> {
+            List<SseEmitter> list = emitters == null ? new CopyOnWriteArrayList<>() : emitters;
+            list.add(emitter);
+            // Oldest streams of the user give way, e.g. tabs that were closed without a clean disconnect
+            while (list.size() > MAX_CLIENTS_PER_USER) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        evicted.forEach(SseEmitter::complete);
+        emitter.onCompletion(() -> disconnect(userId, emitter));
+        emitter.onTimeout(() -> disconnect(userId, emitter));
+        emitter.onError(e -> disconnect(userId, emitter));
+
+        if (enabled) {
+            delivery.execute(() -> deliverMissed(userId));
+        }
+        return emitter;
+    }
+
+    // Schedules every reminder firing within the horizon, one page of drives per short transaction
+    void loadHorizon() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = now.plus(horizon).plus(maxOffset);
+            long afterId = 0;
+            List<UpcomingDrive> page;
+            do {
+                long from = afterId;
+                page = readOnlyTransaction.execute(status ->
+                        driveRepository.findUpcoming(now, until, from, PageRequest.of(0, PAGE_SIZE)));
+                page.forEach(drive -> schedule(drive, now));
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+            log.info("Reminder horizon loaded up to {}, {} reminders pending", now.plus(horizon), wheel.size());
+        } catch (RuntimeException e) {
+            log.error("Loading reminders failed, retrying in {}", refresh, e);
+        }
+    }
+
+    private void queueReload(long userId) {
+        if (reloadsPending.add(userId)) {
+            try {
+                loader.execute(() -> {
+                    reloadsPending.remove(userId);
+                    try {
+                        reloadUser(userId);
+                    } catch (RuntimeException e) {
+                        log.warn("Reloading reminders of user {} failed: {}", userId, e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                reloadsPending.remove(userId); // shutting down
+            }
+        }
+    }
+
+    // The user's drives changed: replace all of the user's reminders. Read from the primary, since
+    // a change made on another instance may not have reached the replica when its notification arrives
+    void reloadUser(long userId) {
+        cancelUser(userId);
+        LocalDateTime now = LocalDateTime.now();
+        stickiness.readPrimary(() -> readOnlyTransaction.execute(status ->
+                        driveRepository.findUpcomingByUserId(userId, now, now.plus(horizon).plus(maxOffset))))
+                .forEach(drive -> schedule(drive, now));
+    }
+
+    private void cancelUser(long userId) {
+        Set<Long> driveIds = drivesByUser.remove(userId);
+        if (driveIds != null) {
+            for (Long driveId : driveIds) {
+                offsets.forEach(offset -> wheel.cancel(new ReminderKey(driveId, offset.toMinutes())));
+            }
+        }
+    }
+
+    private void schedule(UpcomingDrive drive, LocalDateTime now) {
+        LocalDateTime limit = now.plus(horizon);
+        for (Duration offset : offsets) {
+            LocalDateTime fireAt = drive.getDriveDatetime().minus(offset);
+            if (fireAt.isAfter(now) && !fireAt.isAfter(limit)) {
+                Reminder reminder = new Reminder(drive.getId(), drive.getUserId(), drive.getCompanyName(),
+                        drive.getRole(), drive.getDriveDatetime(), fireAt, offset.toMinutes());
+                wheel.schedule(new ReminderKey(drive.getId(), offset.toMinutes()), reminder, epochMillis(fireAt));
+                drivesByUser.computeIfAbsent(drive.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(drive.getId());
+            }
+        }
+    }
+
+    private void fireDue() {
+        for (Reminder reminder : wheel.advance(System.currentTimeMillis())) {
+            if (reminder.minutesBefore() == lastMinutesBefore) {
+                Set<Long> driveIds = drivesByUser.get(reminder.userId());
+                if (driveIds != null) {
+                    driveIds.remove(reminder.driveId());
+                }
+            }
+            if (clients.containsKey(reminder.userId())) {
+                delivery.execute(() -> deliver(reminder));
+            } else {
+                skippedOffline.increment();
+            }
+        }
+    }
+
+    private void deliver(Reminder reminder) {
+        try {
+            // The drive may have been deleted or moved since the reminder was loaded
+            Optional<DriveSummary> drive = driveRepository.findById(reminder.driveId());
+            if (drive.isEmpty() || !reminder.driveDatetime().equals(drive.get().getDriveDatetime())) {
+                return;
+            }
+            claimAndSend(reminder);
+        } catch (RuntimeException e) {
+            log.warn("Reminder for drive {} failed: {}", reminder.driveId(), e.getMessage());
+        }
+    }
+
+    // For each upcoming drive, the reminder closest to the drive that is already due
+    private void deliverMissed(long userId) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<UpcomingDrive> drives = readOnlyTransaction.execute(status ->
+                    driveRepository.findUpcomingByUserId(userId, now, now.plus(maxOffset)));
+            for (UpcomingDrive drive : drives) {
+                offsets.stream()
+                        .filter(offset -> !drive.getDriveDatetime().minus(offset).isAfter(now))
+                        .min(Comparator.naturalOrder())
+                        .ifPresent(offset -> claimAndSend(new Reminder(drive.getId(), userId, drive.getCompanyName(),
+                                drive.getRole(), drive.getDriveDatetime(), drive.getDriveDatetime().minus(offset),
+                                offset.toMinutes())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Missed reminders for user {} failed: {}", userId, e.getMessage());
+        }
+    }
+
+    private void claimAndSend(Reminder reminder) {
+        if (deliveryRepository.claim(reminder.driveId(), reminder.userId(), reminder.fireAt(), LocalDateTime.now()) == 0) {
+            skippedDelivered.increment();
+            return;
+        }
+        boolean sent = false;
+        ReminderDTO dto = ReminderDTO.builder()
+                .driveId(reminder.driveId())
+                .companyName(reminder.companyName())
+                .role(reminder.role())
+                .driveDatetime(reminder.driveDatetime())
+                .minutesBefore(reminder.minutesBefore())
+                .build();
+        for (SseEmitter emitter : clients.getOrDefault(reminder.userId(), List.of())) {
+            sent |= send(reminder.userId(), emitter, SseEmitter.event()
+                    .name("reminder")
+                    .id(reminder.driveId() + ":" + reminder.minutesBefore())
+                    .data(dto, MediaType.APPLICATION_JSON));
+        }
+        if (sent) {
+            delivered.increment();
+        } else {
+            // Every client went away: let the next connect, here or elsewhere, deliver it
+            deliveryRepository.release(reminder.driveId(), reminder.fireAt());
+            skippedOffline.increment();
+        }
+    }
+
+    // Comments keep proxies from closing idle streams and reveal clients that went away
+    private void sendHeartbeats() {
+        clients.forEach((userId, emitters) ->
+                emitters.forEach(emitter -> send(userId, emitter, SseEmitter.event().comment("keep-alive"))));
+    }
+
+    private boolean send(long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            disconnect(userId, emitter);
+            return false;
+        }
+    }
+
+    private void disconnect(long userId, SseEmitter emitter) {
+        clients.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Lets tests check the wheel without waiting for ticks
+    boolean isScheduled(long driveId, Duration offset) {
+        return wheel.contains(new ReminderKey(driveId, offset.toMinutes()));
+    }
+}
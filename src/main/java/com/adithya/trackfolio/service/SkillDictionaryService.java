@@ -0,0 +1,156 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.ReplicaStickiness;
+import com.adithya.trackfolio.repository.SkillPopularity;
+import com.adithya.trackfolio.repository.SkillRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import com.adithya.trackfolio.util.SkillTrie;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Global skill dictionary: resolves aliases ("js", "java script") to one canonical skill
+ * ("javascript") and serves skill autocomplete from an in-memory trie.
+ * The trie holds the bundled dictionary plus skills entered by enough users, ranked by how
+ * many users list them. Popularity is counted from user_skills at startup and counted again in
+ * the background after any instance saved skills or deleted an account (SKILLS and USER
+ * invalidations), so every instance converges on the same counts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SkillDictionaryService {
+
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final SkillRepository skillRepository;
+    private final CacheInvalidationService cacheInvalidation;
+    private final ReplicaStickiness stickiness;
+
+    // compact key (no spaces, dots or hyphens) -> canonical skill
+    private final Map<String, String> canonicalByKey = new HashMap<>();
+    private final Map<String, Set<String>> aliasesByCanonical = new HashMap<>();
+
+    private final AtomicBoolean popularityChanged = new AtomicBoolean();
+    private volatile SkillTrie trie;
+
+    @Value("${app.skills.dictionary:classpath:skills/dictionary.txt}")
+    private Resource dictionary;
+
+    // Skills outside the dictionary show up in autocomplete once this many users list them
+    @Value("${app.skills.min-popularity:3}")
+    private long minPopularity;
+
+    @PostConstruct
+    void init() throws IOException {
+        loadDictionary();
+        rebuildTrie();
+        cacheInvalidation.subscribe(Topic.SKILLS, invalidation -> popularityChanged.set(true));
+        cacheInvalidation.subscribe(Topic.USER, invalidation -> popularityChanged.set(true));
+        cacheInvalidation.onResync(() -> popularityChanged.set(true));
+        log.info("Skill dictionary loaded: {} canonical skills, {} autocomplete terms",
+                aliasesByCanonical.size(), trie.size());
+    }
+
+    /**
+     * Lower-cases and trims a skill, and maps known aliases to their canonical name.
+     */
+    public String normalize(String skill) {
+        String cleaned = skill.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+        return canonicalByKey.getOrDefault(compactKey(cleaned), cleaned);
+    }
+
+    /**
+     * @return the dictionary aliases of a canonical skill, empty for unknown skills
+     */
+    public Set<String> aliasesOf(String canonicalSkill) {
+        return aliasesByCanonical.getOrDefault(canonicalSkill, Set.of());
+    }
+
+    /**
+     * Canonical skills starting with the prefix (or with an alias starting with it), most popular first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String cleaned = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+        if (cleaned.isEmpty()) {
+            return List.of();
+        }
+        return trie.complete(cleaned, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    // One count per tick however many changes came in; skill saves are rare next to reads
+    @Scheduled(initialDelayString = "${app.skills.trie-refresh:PT30S}", fixedDelayString = "${app.skills.trie-refresh:PT30S}")
+    void refreshTrie() {
+        if (popularityChanged.getAndSet(false)) {
+            try {
+                rebuildTrie();
+            } catch (RuntimeException e) {
+                popularityChanged.set(true);
+                log.warn("Counting skill popularity failed, retrying on the next refresh: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rebuildTrie() {
+        Map<String, Long> counts = new HashMap<>();
+        // The change that triggered this may not have reached the replica yet
+        for (SkillPopularity row : stickiness.readPrimary(skillRepository::countUsersPerSkill)) {
+            counts.put(row.getSkill(), row.getUsers());
+        }
+
+        Map<String, String> keys = new HashMap<>();
+        counts.forEach((skill, count) -> {
+            if (count >= minPopularity) {
+                keys.put(skill, skill);
+            }
+        });
+        aliasesByCanonical.forEach((canonical, aliases) -> {
+            keys.put(canonical, canonical);
+            aliases.forEach(alias -> keys.putIfAbsent(alias, canonical));
+        });
+
+        trie = SkillTrie.build(keys, counts, MAX_SUGGESTIONS);
+    }
+
+    // Format: "canonical: alias, alias" per line, '#' starts a comment
+    private void loadDictionary() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(":", 2);
+                String canonical = parts[0].strip().toLowerCase(Locale.ROOT);
+                Set<String> aliases = new LinkedHashSet<>();
+                if (parts.length > 1) {
+                    for (String alias : parts[1].split(",")) {
+                        if (!alias.isBlank()) {
+                            aliases.add(alias.strip().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                aliasesByCanonical.put(canonical, Collections.unmodifiableSet(aliases));
+                canonicalByKey.put(compactKey(canonical), canonical);
+                aliases.forEach(alias -> canonicalByKey.putIfAbsent(compactKey(alias), canonical));
+            }
+        }
+    }
+
+    private static String compactKey(String skill) {
+        return skill.replace(" ", "").replace(".", "").replace("-", "");
+    }
+}
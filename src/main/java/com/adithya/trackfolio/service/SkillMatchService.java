@@ -0,0 +1,231 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.config.ReplicaStickiness;
+import com.adithya.trackfolio.dto.DriveMatchDTO;
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.entity.JD;
+import com.adithya.trackfolio.entity.Skill;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.JDRepository;
+import com.adithya.trackfolio.repository.SkillRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import com.adithya.trackfolio.util.AhoCorasick;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Scores how well each of the user's drives fits the user's skills.
+ * The user's skills, their dictionary aliases and spelling variants are compiled into one Aho-Corasick automaton,
+ * so every JD is scanned once no matter how many skills the user has.
+ * Scores are cached per (user, drive): a skill change drops the user's automaton and scores,
+ * a JD change or drive deletion drops only that drive's score. Skills and JD texts are read from
+ * the primary, so a lagging replica cannot put old data back into the cache.
+ */
+@Slf4j
+@Service
+public class SkillMatchService {
+
+    private final SkillRepository skillRepository;
+    private final DriveRepository driveRepository;
+    private final JDRepository jdRepository;
+    private final UserRepository userRepository;
+    private final SkillDictionaryService skillDictionary;
+    private final CacheInvalidationService cacheInvalidation;
+    private final ReplicaStickiness stickiness;
+    private final TransactionTemplate primaryRead;
+
+    private final Map<Long, UserMatcher> matchers = new ConcurrentHashMap<>();
+
+    @Value("${app.match.max-cached-users:10000}")
+    private int maxCachedUsers;
+
+    public SkillMatchService(SkillRepository skillRepository,
+                             DriveRepository driveRepository,
+                             JDRepository jdRepository,
+                             UserRepository userRepository,
+                             SkillDictionaryService skillDictionary,
+                             CacheInvalidationService cacheInvalidation,
+                             ReplicaStickiness stickiness,
+                             PlatformTransactionManager transactionManager) {
+        this.skillRepository = skillRepository;
+        this.driveRepository = driveRepository;
+        this.jdRepository = jdRepository;
+        this.userRepository = userRepository;
+        this.skillDictionary = skillDictionary;
+        this.cacheInvalidation = cacheInvalidation;
+        this.stickiness = stickiness;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryRead.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        cacheInvalidation.subscribe(Topic.SKILLS, invalidation -> matchers.remove(invalidation.userId()));
+        cacheInvalidation.subscribe(Topic.USER, invalidation -> matchers.remove(invalidation.userId()));
+        cacheInvalidation.subscribe(Topic.DRIVE, invalidation -> {
+            UserMatcher matcher = matchers.get(invalidation.userId());
+            if (matcher != null) {
+                // Bumped before the removal, so a score computed from the old JD cannot be put back unnoticed
+                matcher.generation.incrementAndGet();
+                matcher.scores.remove(invalidation.driveId());
+            }
+        });
+        cacheInvalidation.onResync(matchers::clear);
+    }
+
+    private Long getUserIdFromContext() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"))
+                .getId();
+    }
+
+    /**
+     * Scores every drive of the authenticated user against the user's skills.
+     * Only drives without a cached score are loaded and scanned.
+     *
+     * @return : one entry per drive, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<DriveMatchDTO> matchDrives() {
+        Long userId = getUserIdFromContext();
+        UserMatcher matcher = matcherFor(userId);
+
+        List<DriveSummary> drives = driveRepository.findByUserId(userId);
+        Map<Long, Score> scores = new HashMap<>();
+        List<Long> unscored = new ArrayList<>();
+        for (DriveSummary drive : drives) {
+            Score cached = matcher.scores.get(drive.getId());
+            if (cached != null) {
+                scores.put(drive.getId(), cached);
+            } else {
+                unscored.add(drive.getId());
+            }
+        }
+
+        if (!unscored.isEmpty()) {
+            long generation = matcher.generation.get();
+            Map<Long, String> jdTexts = readPrimary(() -> jdRepository.findByDriveIdIn(unscored).stream()
+                    .collect(Collectors.toMap(JD::getDriveId, JD::getJdText)));
+            for (Long driveId : unscored) {
+                Score score = matcher.score(jdTexts.get(driveId));
+                scores.put(driveId, score);
+                matcher.scores.put(driveId, score);
+            }
+            if (matcher.generation.get() != generation) {
+                // A JD changed while these were scored: its eviction may have run before our put
+                unscored.forEach(matcher.scores::remove);
+            }
+            log.info("Scored {} drives for user {}", unscored.size(), userId);
+        }
+
+        return drives.stream()
+                .map(drive -> toDto(drive, scores.get(drive.getId())))
+                .sorted(Comparator.comparingInt(DriveMatchDTO::getMatchPercentage).reversed())
+                .toList();
+    }
+
+    private UserMatcher matcherFor(Long userId) {
+        if (matchers.size() >= maxCachedUsers && !matchers.containsKey(userId)) {
+            matchers.clear();
+            log.info("Skill matcher cache reached {} users, cleared", maxCachedUsers);
+        }
+        return matchers.computeIfAbsent(userId, id -> new UserMatcher(readPrimary(() -> skillRepository.findByUserId(id).stream()
+                .map(Skill::getSkill)
+                .toList()), this::patternsFor));
+    }
+
+    private <T> T readPrimary(Supplier<T> loader) {
+        return stickiness.readPrimary(() -> primaryRead.execute(status -> loader.get()));
+    }
+
+    // A skill is found by its own name, its dictionary aliases, and their spelling variants
+    private Set<String> patternsFor(String skill) {
+        Set<String> patterns = new LinkedHashSet<>(variants(skill));
+        skillDictionary.aliasesOf(skill).forEach(alias -> patterns.addAll(variants(alias)));
+        return patterns;
+    }
+
+    /**
+     * Spelling variants of a normalized skill that should count as the same skill,
+     * e.g. "node.js" also matches "nodejs" and "node js".
+     */
+    static Set<String> variants(String skill) {
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(skill);
+        if (skill.contains(".") || skill.contains("-")) {
+            variants.add(skill.replace(".", "").replace("-", ""));
+            variants.add(skill.replace('.', ' ').replace('-', ' ').trim());
+        }
+        if (skill.contains(" ")) {
+            variants.add(skill.replace(' ', '-'));
+        }
+        return variants;
+    }
+
+    private static DriveMatchDTO toDto(DriveSummary drive, Score score) {
+        return DriveMatchDTO.builder()
+                .driveId(drive.getId())
+                .companyName(drive.getCompanyName())
+                .role(drive.getRole())
+                .driveDatetime(drive.getDriveDatetime())
+                .hasJd(score.hasJd())
+                .matchPercentage(score.percentage())
+                .matchedSkills(score.matched())
+                .missingSkills(score.missing())
+                .build();
+    }
+
+    private record Score(boolean hasJd, int percentage, List<String> matched, List<String> missing) {
+    }
+
+    private static final class UserMatcher {
+        private final List<String> skills;
+        private final AhoCorasick automaton;
+        private final Map<Long, Score> scores = new ConcurrentHashMap<>();
+        // Counts DRIVE evictions, so a score computed across one is not kept
+        private final AtomicLong generation = new AtomicLong();
+
+        UserMatcher(List<String> skills, Function<String, Set<String>> patternsForSkill) {
+            this.skills = skills;
+            Map<String, Integer> patterns = new HashMap<>();
+            for (int i = 0; i < skills.size(); i++) {
+                int group = i;
+                patternsForSkill.apply(skills.get(i)).forEach(pattern -> patterns.putIfAbsent(pattern, group));
+            }
+            this.automaton = AhoCorasick.build(patterns);
+        }
+
+        Score score(String jdText) {
+            if (jdText == null) {
+                return new Score(false, 0, List.of(), skills);
+            }
+            Set<Integer> found = automaton.matchGroups(jdText);
+            List<String> matched = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < skills.size(); i++) {
+                (found.contains(i) ? matched : missing).add(skills.get(i));
+            }
+            int percentage = skills.isEmpty() ? 0 : Math.round(100f * matched.size() / skills.size());
+            return new Score(true, percentage, matched, missing);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.adithya.trackfolio.service;
 import com.adithya.trackfolio.entity.Skill;
 import com.adithya.trackfolio.repository.SkillRepository;
 import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -11,7 +12,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -20,6 +24,8 @@ public class SkillService {
 
     private final SkillRepository skillRepository;
     private final UserRepository userRepository;
+    private final CacheInvalidationService cacheInvalidation;
+    private final SkillDictionaryService skillDictionary;
 
     private Long getUserIdFromContext() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -28,29 +34,52 @@ public class SkillService {
                 .getId();
     }
 
+    /**
+     * Replaces the user's skills with the given list.
+     * Only the difference to the stored set is written: one batched insert for new skills
+     * and one delete for removed ones, so the cost scales with the size of the change.
+     *
+     * @param skills : complete list of the user's skills
+     */
     @Transactional
     public void saveSkills(List<String> skills) {
         Long userId = getUserIdFromContext();
 
-        // Normalize skills: lowercase, trim, distinct
-        List<String> normalizedSkills = skills.stream()
-                .map(s -> s.toLowerCase().trim())
-                .distinct()
-                .toList();
+        // Normalize skills: lowercase, trim, resolve aliases, distinct
+        Set<String> normalizedSkills = skills.stream()
+                .map(skillDictionary::normalize)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Set<String> existingSkills = skillRepository.findByUserId(userId).stream()
+                .map(Skill::getSkill)
+                .collect(Collectors.toSet());
 
-        // Delete existing skills for user
-        skillRepository.deleteByUserId(userId);
-        skillRepository.flush();
-        log.info("deleted skills");
+        List<String> added = normalizedSkills.stream().filter(s -> !existingSkills.contains(s)).toList();
+        List<String> removed = existingSkills.stream().filter(s -> !normalizedSkills.contains(s)).toList();
 
-        // Insert new skills
-        List<Skill> entities = normalizedSkills.stream()
-                .map(skill -> new Skill(userId, skill))
-                .toList();
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        skillRepository.deleteSkills(userId, removed);
+        skillRepository.insertIgnoringDuplicates(userId, added);
+        log.info("Skills updated for user {}: {} added, {} removed", userId, added.size(), removed.size());
+
+        cacheInvalidation.invalidate(Topic.SKILLS, userId);
+    }
 
-        skillRepository.saveAll(entities);
+    /**
+     * Autocomplete for skill names.
+     *
+     * @param prefix : text typed so far
+     * @param limit  : maximum number of suggestions
+     * @return : canonical skill names, most popular first
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return skillDictionary.suggest(prefix, limit);
     }
 
+    @Transactional(readOnly = true)
     public List<String> getSkills() {
         Long userId = getUserIdFromContext();
 
@@ -0,0 +1,321 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pays the first-request costs up front: opens pool connections, runs the keyed read queries of
+ * every repository once (Hibernate query plans, JDBC driver classes), builds the Jackson
+ * (de)serializers of all DTOs, exercises the JWT code path and finally pings the AI core.
+ * Runs after startup, and again whenever the heartbeat notices the process was suspended.
+ * The readiness probe reports out of service while it runs (see WarmupHealthIndicator).
+ */
+@Slf4j
+@Service
+public class WarmupService {
+
+    private static final Set<String> READ_PREFIXES = Set.of("find", "exists", "count", "search", "get");
+
+    private final ObjectProvider<HikariDataSource> pools;
+    private final ListableBeanFactory beanFactory;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
+    private final ChatService chatService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("warmup-"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean warm;
+    private volatile long lastHeartbeat = System.nanoTime();
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.connections:5}")
+    private int connections;
+
+    @Value("${app.warmup.jwt-iterations:500}")
+    private int jwtIterations;
+
+    @Value("${app.warmup.resume-gap:PT30S}")
+    private Duration resumeGap;
+
+    public WarmupService(ObjectProvider<HikariDataSource> pools,
+                         ListableBeanFactory beanFactory,
+                         ObjectMapper objectMapper,
+                         JwtUtil jwtUtil,
+                         ChatService chatService,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry) {
+        this.pools = pools;
+        this.beanFactory = beanFactory;
+        this.objectMapper = objectMapper;
+        this.jwtUtil = jwtUtil;
+        this.chatService = chatService;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return true once warmup has finished (always true when warmup is disabled)
+     */
+    public boolean isWarm() {
+        return warm || !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        start("startup");
+    }
+
+    /**
+     * A heartbeat that arrives much later than scheduled means the container was suspended:
+     * pooled connections and caches may be gone, so warm up again.
+     */
+    @Scheduled(fixedDelayString = "${app.warmup.heartbeat:PT5S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        long gap = now - lastHeartbeat;
+        lastHeartbeat = now;
+        if (gap > resumeGap.toNanos() && warm) {
+            log.info("No heartbeat for {} s, assuming resume from suspend", TimeUnit.NANOSECONDS.toSeconds(gap));
+            start("resume");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void start(String trigger) {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        warm = false;
+        executor.execute(() -> {
+            try {
+                Timer.builder("trackfolio.warmup")
+                        .description("Duration of the warmup phase")
+                        .tag("trigger", trigger)
+                        .register(meterRegistry)
+                        .record(this::warmUp);
+            } finally {
+                warm = true;
+                running.set(false);
+            }
+            // Not awaited by readiness: the AI core has its own cold start
+            String response = chatService.prewarm();
+            log.info("AI-core prewarm after {}: {}", trigger, response);
+        });
+    }
+
+    private void warmUp() {
+        long started = System.nanoTime();
+        openConnections();
+        int queries = runRepositoryQueries();
+        int types = buildSerializers();
+        exerciseJwt();
+        log.info("Warmup finished in {} ms ({} connections, {} queries, {} DTO types)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), connections, queries, types);
+    }
+
+    // Hold all connections at once so each pool (primary, replica) has to open that many
+    private void openConnections() {
+        pools.orderedStream().forEach(this::openConnections);
+    }
+
+    private void openConnections(HikariDataSource pool) {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                held.add(pool.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Warmup could only open {} connections in pool {}: {}", held.size(), pool.getPoolName(), e.getMessage());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warmup connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the read methods declared on the application's repository interfaces with dummy
+     * arguments (ids that do not exist), inside read-only transactions. Only methods that take
+     * an id or key are called, so nothing loads a whole table; inherited CRUD methods
+     * ({@code findAll}, {@code count}) and modifying queries are never called.
+     */
+    @SuppressWarnings("rawtypes")
+    private int runRepositoryQueries() {
+        int executed = 0;
+        for (Repository repository : beanFactory.getBeansOfType(Repository.class).values()) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(repository)) {
+                if (!type.getPackageName().startsWith("com.adithya.trackfolio")) {
+                    continue;
+                }
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!isKeyedRead(method)) {
+                        continue;
+                    }
+                    Object[] args = dummyArguments(method);
+                    if (args == null) {
+                        continue;
+                    }
+                    try {
+                        readOnlyTransaction.executeWithoutResult(status -> invoke(method, repository, args));
+                        executed++;
+                    } catch (RuntimeException e) {
+                        // e.g. PostgreSQL-only queries on another database
+                        log.debug("Warmup query {}.{} failed: {}", type.getSimpleName(), method.getName(), e.getMessage());
+                    }
+                }
+            }
+        }
+        return executed;
+    }
+
+    // A query method with at least one id or key parameter; a Pageable alone still scans the table
+    private static boolean isKeyedRead(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()
+                || method.isAnnotationPresent(Modifying.class)
+                || READ_PREFIXES.stream().noneMatch(prefix -> method.getName().startsWith(prefix))) {
+            return false;
+        }
+        return Arrays.stream(method.getParameterTypes()).anyMatch(parameter -> parameter != Pageable.class);
+    }
+
+    private static void invoke(Method method, Object target, Object[] args) {
+        try {
+            // Reactive (R2DBC) repositories only query once subscribed
+            if (method.invoke(target, args) instanceof Publisher<?> publisher) {
+                Flux.from(publisher).blockLast(Duration.ofSeconds(10));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    // null when a parameter type has no sensible dummy value
+    private static Object[] dummyArguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = dummyValue(types[i]);
+            if (args[i] == null) {
+                return null;
+            }
+        }
+        return args;
+    }
+
+    private static Object dummyValue(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && Collection.class.isAssignableFrom((Class<?>) parameterized.getRawType())) {
+            Object element = dummyValue(parameterized.getActualTypeArguments()[0]);
+            return element == null ? null : List.of(element);
+        }
+        if (!(type instanceof Class<?> raw)) {
+            return null;
+        }
+        Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(raw);
+        if (boxed == Long.class) {
+            return -1L;
+        }
+        if (boxed == Integer.class) {
+            return 1;
+        }
+        if (boxed == Boolean.class) {
+            return false;
+        }
+        if (raw == String.class) {
+            return "warmup";
+        }
+        if (raw == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (raw == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (raw == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        return null;
+    }
+
+    private int buildSerializers() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        int types = 0;
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.adithya.trackfolio.dto")) {
+            try {
+                Class<?> dto = ClassUtils.forName(candidate.getBeanClassName(), getClass().getClassLoader());
+                // Both prefetch and cache the root (de)serializer of the type
+                objectMapper.writerFor(dto);
+                objectMapper.readerFor(dto);
+                types++;
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.debug("Warmup skipped {}", candidate.getBeanClassName());
+            }
+        }
+        return types;
+    }
+
+    private void exerciseJwt() {
+        for (int i = 0; i < jwtIterations; i++) {
+            String token = jwtUtil.generateToken("warmup@gmail.com", false);
+            jwtUtil.validateToken(token);
+            jwtUtil.tryExtractAccessEmail(token);
+        }
+    }
+}
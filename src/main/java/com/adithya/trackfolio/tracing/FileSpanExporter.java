@@ -0,0 +1,97 @@
+package com.adithya.trackfolio.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends finished spans to a local file, one JSON object per line.
+ * Request threads only enqueue; a background thread does the I/O. When the queue is full
+ * spans are dropped rather than slowing down requests.
+ */
+@Slf4j
+class FileSpanExporter {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 200;
+
+    private final BlockingQueue<Span> queue;
+    private final BufferedWriter writer;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    FileSpanExporter(Path file, int queueSize) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.worker = new Thread(this::drain, "span-exporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    void export(Span span) {
+        if (!queue.offer(span)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Polls on a timer instead of blocking on the queue, so request threads never wake the writer
+    private void drain() {
+        List<Span> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running) {
+                    Thread.sleep(FLUSH_INTERVAL_MILLIS);
+                }
+                queue.drainTo(batch);
+                for (Span span : batch) {
+                    writer.write(objectMapper.writeValueAsString(span));
+                    writer.newLine();
+                }
+                if (!batch.isEmpty()) {
+                    writer.flush();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (IOException e) {
+                log.warn("Failed to export {} spans: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close span file: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.adithya.trackfolio.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed unit of work within a trace. Created through {@link Tracer}; finished spans are
+ * immutable in practice and handed to the {@link SpanRingBuffer} and the optional exporter.
+ */
+public final class Span {
+
+    private final Tracer tracer;
+    private final Span parent;
+    private final String traceId;
+    private final String spanId;
+    private final String parentId;
+    private final String name;
+    private final String kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final Map<String, String> tags = new LinkedHashMap<>(4);
+    private long durationNanos = -1;
+    private String error;
+
+    Span(Tracer tracer, Span parent, String traceId, String spanId, String parentId, String name, String kind) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.kind = kind;
+        this.startEpochMicros = System.currentTimeMillis() * 1000;
+        this.startNanos = System.nanoTime();
+    }
+
+    public Span tag(String key, String value) {
+        if (value != null) {
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable throwable) {
+        this.error = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+        return this;
+    }
+
+    /**
+     * Ends the span. Safe to call from a thread other than the one that started it.
+     */
+    public void end() {
+        if (durationNanos < 0) {
+            durationNanos = System.nanoTime() - startNanos;
+            tracer.finished(this);
+        }
+    }
+
+    /**
+     * W3C trace context header value identifying this span as the parent of a downstream call.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    Span parent() {
+        return parent;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationNanos / 1000;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,49 @@
+package com.adithya.trackfolio.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free buffer of the most recently finished spans.
+ * Writers claim a slot with one atomic increment and overwrite the oldest span.
+ */
+public final class SpanRingBuffer {
+
+    private final AtomicReferenceArray<Span> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    public SpanRingBuffer(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(Span span) {
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), span);
+    }
+
+    /**
+     * @return the buffered spans, oldest first
+     */
+    public List<Span> snapshot() {
+        long end = written.get();
+        long start = Math.max(0, end - slots.length());
+        List<Span> spans = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Span span = slots.get((int) (sequence % slots.length()));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public long totalWritten() {
+        return written.get();
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
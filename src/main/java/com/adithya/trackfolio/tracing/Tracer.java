@@ -0,0 +1,195 @@
+package com.adithya.trackfolio.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal in-process tracer. A root span is opened per sampled HTTP request (in {@code JwtFilter});
+ * spans started on the same thread while it is open become its children. Unsampled requests
+ * create no spans at all, so their only cost is the thread-local lookup.
+ * Finished spans go to a {@link SpanRingBuffer} read by the {@code traces} actuator endpoint,
+ * and to a JSON-lines file when {@code app.tracing.file} is set.
+ */
+@Slf4j
+@Component
+public class Tracer {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final Counter recordedSpans;
+    private final LongAdder recordNanos = new LongAdder();
+
+    @Value("${app.tracing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tracing.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${app.tracing.buffer-size:2048}")
+    private int bufferSize;
+
+    @Value("${app.tracing.file:}")
+    private String file;
+
+    private SpanRingBuffer buffer;
+    private FileSpanExporter exporter;
+
+    public Tracer(MeterRegistry meterRegistry) {
+        this.recordedSpans = Counter.builder("trackfolio.tracing.spans")
+                .description("Spans recorded by the in-process tracer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        buffer = new SpanRingBuffer(bufferSize);
+        if (!file.isBlank()) {
+            exporter = new FileSpanExporter(Path.of(file), bufferSize);
+            log.info("Exporting spans to {}", file);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (exporter != null) {
+            exporter.close();
+        }
+    }
+
+    /**
+     * Opens the root span of a request on the current thread.
+     * The request is sampled at the local rate whatever an incoming W3C {@code traceparent} header
+     * says, since any client could set its sampled flag; only its trace and parent ids are kept.
+     *
+     * @return the root span, or null if tracing is off or the request was not sampled
+     */
+    public Span startRoot(String name, String traceparent) {
+        current.remove();
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        String traceId = randomHex(2);
+        String parentId = null;
+        String[] parts = traceparent == null ? null : traceparent.split("-");
+        if (parts != null && parts.length == 4 && isHexId(parts[1], 32) && isHexId(parts[2], 16)) {
+            traceId = parts[1];
+            parentId = parts[2];
+        }
+        Span span = new Span(this, null, traceId, randomHex(1), parentId, name, "server");
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Starts a child of the current span and makes it current until {@link #end(Span)}.
+     *
+     * @return the span, or null when the thread is not inside a sampled trace
+     */
+    public Span startSpan(String name, String kind) {
+        Span parent = current.get();
+        if (parent == null) {
+            return null;
+        }
+        Span span = new Span(this, parent, parent.getTraceId(), randomHex(1), parent.getSpanId(), name, kind);
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Starts a child of the current span without making it current, for work that
+     * completes on another thread (e.g. a reactive HTTP call).
+     */
+    public Span startDetached(String name, String kind) {
+        Span parent = current.get();
+        if (parent == null) {
+            return null;
+        }
+        return new Span(this, null, parent.getTraceId(), randomHex(1), parent.getSpanId(), name, kind);
+    }
+
+    /**
+     * Ends a span started with {@link #startRoot} or {@link #startSpan} and restores its parent
+     * as the current span. Null-safe so callers need not check whether the request was sampled.
+     */
+    public void end(Span span) {
+        if (span == null) {
+            return;
+        }
+        span.end();
+        if (span.parent() != null) {
+            current.set(span.parent());
+        } else {
+            current.remove();
+        }
+    }
+
+    public Span current() {
+        return current.get();
+    }
+
+    void finished(Span span) {
+        long start = System.nanoTime();
+        buffer.add(span);
+        if (exporter != null) {
+            exporter.export(span);
+        }
+        recordedSpans.increment();
+        recordNanos.add(System.nanoTime() - start);
+    }
+
+    SpanRingBuffer buffer() {
+        return buffer;
+    }
+
+    double sampleRate() {
+        return sampleRate;
+    }
+
+    long droppedExports() {
+        return exporter == null ? 0 : exporter.dropped();
+    }
+
+    /**
+     * Average time spent recording a finished span, i.e. the tracer's own per-span overhead.
+     */
+    long averageRecordNanos() {
+        long spans = buffer.totalWritten();
+        return spans == 0 ? 0 : recordNanos.sum() / spans;
+    }
+
+    // Lowercase hex of the given length and not all zeros, as W3C trace context requires
+    private static boolean isHexId(String id, int length) {
+        if (id.length() != length) {
+            return false;
+        }
+        boolean nonZero = false;
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            String part = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            hex.append("0".repeat(16 - part.length())).append(part);
+        }
+        return hex.toString();
+    }
+}
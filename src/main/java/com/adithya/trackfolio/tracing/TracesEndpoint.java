@@ -0,0 +1,71 @@
+package com.adithya.trackfolio.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * {@code /actuator/traces}: recently recorded traces, newest first, and
+ * {@code /actuator/traces/{traceId}}: all buffered spans of one trace.
+ * Traces hold every user's request URIs and timings, so like all actuator endpoints this is only
+ * served on the management port (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+
+    private static final int MAX_TRACES = 50;
+
+    private final Tracer tracer;
+
+    @ReadOperation
+    public Map<String, Object> traces() {
+        Map<String, List<Span>> byTrace = new LinkedHashMap<>();
+        List<Span> spans = tracer.buffer().snapshot();
+        Collections.reverse(spans);
+        for (Span span : spans) {
+            if (byTrace.size() >= MAX_TRACES && !byTrace.containsKey(span.getTraceId())) {
+                continue;
+            }
+            byTrace.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+        }
+
+        List<Map<String, Object>> traces = new ArrayList<>();
+        byTrace.forEach((traceId, traceSpans) -> {
+            // The server span is the root; while a request is still running, fall back to its longest child
+            Span root = traceSpans.stream()
+                    .max(Comparator.comparing((Span span) -> "server".equals(span.getKind()))
+                            .thenComparingLong(Span::getDurationMicros))
+                    .orElseThrow();
+            Map<String, Object> trace = new LinkedHashMap<>();
+            trace.put("traceId", traceId);
+            trace.put("name", root.getName());
+            trace.put("startEpochMicros", root.getStartEpochMicros());
+            trace.put("durationMicros", root.getDurationMicros());
+            trace.put("spans", traceSpans.size());
+            traces.add(trace);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sampleRate", tracer.sampleRate());
+        result.put("bufferCapacity", tracer.buffer().capacity());
+        result.put("spansRecorded", tracer.buffer().totalWritten());
+        result.put("droppedExports", tracer.droppedExports());
+        result.put("averageRecordNanos", tracer.averageRecordNanos());
+        result.put("traces", traces);
+        return result;
+    }
+
+    @ReadOperation
+    public List<Span> trace(@Selector String traceId) {
+        return tracer.buffer().snapshot().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .sorted(Comparator.comparingLong(Span::getStartEpochMicros))
+                .toList();
+    }
+}
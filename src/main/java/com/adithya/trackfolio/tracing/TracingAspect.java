@@ -0,0 +1,51 @@
+package com.adithya.trackfolio.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Child spans for service methods and repository calls. Outside a sampled trace the advice
+ * only checks the current span and proceeds.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * com.adithya.trackfolio.service..*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        return proceed(joinPoint, tracer.startSpan(name, "service"));
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        // Name after the application's repository interface rather than e.g. CrudRepository
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        String repository = interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return proceed(joinPoint, tracer.startSpan(repository + "." + joinPoint.getSignature().getName(), "repository"));
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint, Span span) throws Throwable {
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
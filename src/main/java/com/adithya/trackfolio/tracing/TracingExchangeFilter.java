@@ -0,0 +1,38 @@
+package com.adithya.trackfolio.tracing;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client span for outgoing WebClient calls, with the trace id passed on in a
+ * {@value Tracer#TRACEPARENT} header so the AI core can join the trace.
+ * The span ends when the response headers arrive.
+ */
+@Component
+@RequiredArgsConstructor
+public class TracingExchangeFilter implements ExchangeFilterFunction {
+
+    private final Tracer tracer;
+
+    @Override
+    @NonNull
+    public Mono<ClientResponse> filter(@NonNull ClientRequest request, @NonNull ExchangeFunction next) {
+        Span span = tracer.startDetached("http.client " + request.method() + " " + request.url().getPath(), "client");
+        if (span == null) {
+            return next.exchange(request);
+        }
+        ClientRequest traced = ClientRequest.from(request)
+                .header(Tracer.TRACEPARENT, span.traceparent())
+                .build();
+        return next.exchange(traced)
+                .doOnNext(response -> span.tag("status", String.valueOf(response.statusCode().value())))
+                .doOnError(span::error)
+                .doFinally(signal -> span.end());
+    }
+}
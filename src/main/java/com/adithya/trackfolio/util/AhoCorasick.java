@@ -0,0 +1,155 @@
+package com.adithya.trackfolio.util;
+
+import java.util.*;
+
+/**
+ * Immutable Aho-Corasick automaton that finds all of a fixed set of patterns in a text
+ * in a single left-to-right pass, regardless of how many patterns there are.
+ * Patterns are matched case-insensitively and only on word boundaries, so "java" does not
+ * match inside "javascript". Each pattern carries a group id; several patterns (a skill and
+ * its aliases) can share a group.
+ */
+public final class AhoCorasick {
+
+    private static final int ROOT = 0;
+
+    // Goto function as one sorted transition table per state
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    // Patterns ending at each state, including those inherited through fail links
+    private final int[][] outputs;
+    private final int[] patternLengths;
+    private final int[] patternGroups;
+
+    private AhoCorasick(char[][] edgeChars, int[][] edgeTargets, int[] fail, int[][] outputs,
+                        int[] patternLengths, int[] patternGroups) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.patternLengths = patternLengths;
+        this.patternGroups = patternGroups;
+    }
+
+    /**
+     * Builds the automaton.
+     *
+     * @param patterns pattern text per group id; blank patterns are ignored
+     */
+    public static AhoCorasick build(Map<String, Integer> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> pattern : patterns.entrySet()) {
+            String text = pattern.getKey().toLowerCase(Locale.ROOT).trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (char c : text.toCharArray()) {
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ends.get(state).add(lengths.size());
+            lengths.add(text.length());
+            groups.add(pattern.getValue());
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        for (int s = 0; s < size; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            edgeChars[s] = new char[edges.size()];
+            edgeTargets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[s][i] = edge.getKey();
+                edgeTargets[s][i++] = edge.getValue();
+            }
+        }
+
+        // Breadth-first construction of fail links and merged outputs
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[ROOT] = new int[0];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int target : edgeTargets[ROOT]) {
+            fail[target] = ROOT;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] inherited = outputs[fail[state]] == null ? new int[0] : outputs[fail[state]];
+            int[] own = ends.get(state).stream().mapToInt(Integer::intValue).toArray();
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            outputs[state] = merged;
+
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int f = fail[state];
+                while (f != ROOT && step(edgeChars, edgeTargets, f, c) < 0) {
+                    f = fail[f];
+                }
+                int candidate = step(edgeChars, edgeTargets, f, c);
+                fail[child] = candidate >= 0 && candidate != child ? candidate : ROOT;
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasick(edgeChars, edgeTargets, fail, outputs,
+                lengths.stream().mapToInt(Integer::intValue).toArray(),
+                groups.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Scans the text once and returns the ids of all groups with at least one whole-word match.
+     */
+    public Set<Integer> matchGroups(String text) {
+        Set<Integer> found = new HashSet<>();
+        if (text == null || text.isEmpty()) {
+            return found;
+        }
+        int state = ROOT;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = Math.max(next, ROOT);
+
+            for (int pattern : outputs[state]) {
+                int start = i - patternLengths[pattern] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    found.add(patternGroups[pattern]);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+}
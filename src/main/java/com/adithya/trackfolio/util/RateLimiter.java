@@ -0,0 +1,73 @@
+package com.adithya.trackfolio.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per key (user or client IP).
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the "theoretical arrival time" form of a token bucket), so taking a token is one CAS and
+ * a bucket costs a few dozen bytes. Buckets that have refilled completely carry no state
+ * worth keeping and are dropped by {@link #evictIdle()}, which the owner runs periodically.
+ * At most {@code maxKeys} buckets are kept; while that many exist, new keys share one overflow
+ * bucket, so rotating keys (e.g. client IPs) neither grows the map nor escapes the limit.
+ */
+public final class RateLimiter {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param capacity bucket size, i.e. the largest burst allowed
+     * @param period   time to refill a whole bucket
+     * @param maxKeys  number of buckets kept; further keys share the overflow bucket
+     */
+    public RateLimiter(int capacity, Duration period, int maxKeys) {
+        this.nanosPerToken = period.toNanos() / capacity;
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            // Concurrent first requests may overshoot maxKeys by at most the number of threads
+            bucket = buckets.size() < maxKeys ? buckets.computeIfAbsent(key, k -> new AtomicLong(now)) : overflow;
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long next = start + nanosPerToken;
+            if (next - now > burstNanos) {
+                return next - now - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that are full again; a new bucket for the same key behaves identically.
+     * Visits every bucket, so it runs on a schedule and never on the request path.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
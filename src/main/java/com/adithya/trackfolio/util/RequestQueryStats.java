@@ -0,0 +1,77 @@
+package com.adithya.trackfolio.util;
+
+/**
+ * SQL statement count and total execution time of the request running on the current thread.
+ * {@link #begin()} and {@link #end()} bracket an HTTP request; statements issued outside a
+ * request (scheduled jobs, startup) are not recorded.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+    private boolean logSql;
+
+    private RequestQueryStats() {
+    }
+
+    /**
+     * Starts recording for the current thread.
+     *
+     * @param logSql whether every SQL statement of this request should be logged
+     */
+    public static void begin(boolean logSql) {
+        RequestQueryStats stats = new RequestQueryStats();
+        stats.logSql = logSql;
+        CURRENT.set(stats);
+    }
+
+    /**
+     * Stops recording for the current thread.
+     *
+     * @return the stats of the request that just finished, or null if none was started
+     */
+    public static RequestQueryStats end() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request in progress, or null outside a request
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void recordStatement() {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    /**
+     * @return true if the request on the current thread asked for its SQL to be logged
+     */
+    public static boolean isSqlLogged() {
+        RequestQueryStats stats = CURRENT.get();
+        return stats != null && stats.logSql;
+    }
+
+    public static void recordExecution(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getExecutionMillis() {
+        return executionNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,111 @@
+package com.adithya.trackfolio.util;
+
+import java.util.*;
+
+/**
+ * Immutable prefix trie for autocomplete. Every node stores the ids of its most popular
+ * completions, precomputed at build time, so a lookup costs one walk down the prefix and
+ * no traversal of the subtree. Several keys (a term and its aliases) can point to one term.
+ */
+public final class SkillTrie {
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[][] topTerms;
+    private final String[] terms;
+
+    private SkillTrie(char[][] edgeChars, int[][] edgeTargets, int[][] topTerms, String[] terms) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.topTerms = topTerms;
+        this.terms = terms;
+    }
+
+    /**
+     * Builds the trie.
+     *
+     * @param keys       lookup key -> term it completes to (keys are expected to be lower-case)
+     * @param popularity term -> score, higher ranks first; missing terms score 0
+     * @param maxResults number of completions kept per node
+     */
+    public static SkillTrie build(Map<String, String> keys, Map<String, Long> popularity, int maxResults) {
+        List<String> termList = new ArrayList<>(new TreeSet<>(keys.values()));
+        Map<String, Integer> termIds = new HashMap<>();
+        for (int i = 0; i < termList.size(); i++) {
+            termIds.put(termList.get(i), i);
+        }
+
+        List<TreeMap<Character, Integer>> nodes = new ArrayList<>();
+        List<Set<Integer>> ownTerms = new ArrayList<>();
+        nodes.add(new TreeMap<>());
+        ownTerms.add(new HashSet<>());
+
+        for (Map.Entry<String, String> key : keys.entrySet()) {
+            int node = 0;
+            for (char c : key.getKey().toCharArray()) {
+                Integer next = nodes.get(node).get(c);
+                if (next == null) {
+                    next = nodes.size();
+                    nodes.get(node).put(c, next);
+                    nodes.add(new TreeMap<>());
+                    ownTerms.add(new HashSet<>());
+                }
+                node = next;
+            }
+            ownTerms.get(node).add(termIds.get(key.getValue()));
+        }
+
+        Comparator<Integer> ranking = Comparator
+                .comparingLong((Integer id) -> popularity.getOrDefault(termList.get(id), 0L)).reversed()
+                .thenComparing(termList::get);
+
+        int size = nodes.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        int[][] topTerms = new int[size][];
+
+        // Children always have higher ids than their parent, so a reverse sweep is a post-order walk
+        for (int node = size - 1; node >= 0; node--) {
+            TreeMap<Character, Integer> edges = nodes.get(node);
+            edgeChars[node] = new char[edges.size()];
+            edgeTargets[node] = new int[edges.size()];
+
+            Set<Integer> candidates = new HashSet<>(ownTerms.get(node));
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[node][i] = edge.getKey();
+                edgeTargets[node][i++] = edge.getValue();
+                for (int term : topTerms[edge.getValue()]) {
+                    candidates.add(term);
+                }
+            }
+            topTerms[node] = candidates.stream().sorted(ranking).limit(maxResults).mapToInt(Integer::intValue).toArray();
+        }
+
+        return new SkillTrie(edgeChars, edgeTargets, topTerms, termList.toArray(String[]::new));
+    }
+
+    /**
+     * Returns up to {@code limit} terms completing the prefix, most popular first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int edge = Arrays.binarySearch(edgeChars[node], prefix.charAt(i));
+            if (edge < 0) {
+                return List.of();
+            }
+            node = edgeTargets[node][edge];
+        }
+        int[] top = topTerms[node];
+        List<String> result = new ArrayList<>(Math.min(limit, top.length));
+        for (int i = 0; i < top.length && i < limit; i++) {
+            result.add(terms[top[i]]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+}
@@ -0,0 +1,132 @@
+package com.adithya.trackfolio.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel: a ring of slots, one per tick, each holding a doubly linked list of
+ * timers. A timer goes into the slot of its deadline tick modulo the ring size, so timers
+ * further out than one rotation share slots and are skipped until their tick comes.
+ * Scheduling and cancelling are O(1) through a key index; {@link #advance} only visits the
+ * slots of the ticks that passed.
+ * Thread-safe; all operations are short and run under the wheel's monitor.
+ *
+ * @param <K> timer key; scheduling an existing key replaces its timer
+ * @param <V> value handed out when the timer expires
+ */
+public final class TimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final Timer<K, V>[] slots;
+    private final int mask;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    // Next tick to expire; timers are never placed before it
+    private long currentTick;
+
+    /**
+     * @param tickMillis resolution of the wheel
+     * @param slotCount  slots in the ring, rounded up to a power of two
+     * @param nowMillis  current time in epoch millis
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        int size = Integer.highestOneBit(Math.max(1, slotCount - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new Timer[size];
+        this.mask = size - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Adds a timer, replacing any timer with the same key. Deadlines in the past expire on the next advance.
+     */
+    public synchronized void schedule(K key, V value, long deadlineMillis) {
+        cancel(key);
+        Timer<K, V> timer = new Timer<>(key, value, Math.max(deadlineMillis / tickMillis, currentTick));
+        int index = (int) (timer.tick & mask);
+        timer.next = slots[index];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        slots[index] = timer;
+        timers.put(key, timer);
+    }
+
+    /**
+     * @return the value of the cancelled timer, or null if there was none
+     */
+    public synchronized V cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return null;
+        }
+        unlink(timer);
+        return timer.value;
+    }
+
+    public synchronized boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Expires every timer due up to the given time.
+     *
+     * @return the values of the expired timers, in no particular order
+     */
+    public synchronized List<V> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<V> expired = new ArrayList<>();
+        if (targetTick < currentTick) {
+            return expired;
+        }
+        // After a long pause every slot may hold due timers, but none needs to be visited twice
+        long steps = Math.min(targetTick - currentTick + 1, slots.length);
+        for (long i = 0; i < steps; i++) {
+            Timer<K, V> timer = slots[(int) ((currentTick + i) & mask)];
+            while (timer != null) {
+                Timer<K, V> next = timer.next;
+                if (timer.tick <= targetTick) {
+                    unlink(timer);
+                    timers.remove(timer.key);
+                    expired.add(timer.value);
+                }
+                timer = next;
+            }
+        }
+        currentTick = targetTick + 1;
+        return expired;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[(int) (timer.tick & mask)] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final V value;
+        private final long tick;
+        private Timer<K, V> prev;
+        private Timer<K, V> next;
+
+        private Timer(K key, V value, long tick) {
+            this.key = key;
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+}
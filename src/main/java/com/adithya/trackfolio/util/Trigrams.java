@@ -0,0 +1,65 @@
+package com.adithya.trackfolio.util;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram helpers that mirror the behaviour of Postgres' pg_trgm extension,
+ * used when the extension is not available.
+ */
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    /**
+     * Lower-cases the text and replaces every non-alphanumeric character with a space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            sb.append(Character.isLetterOrDigit(c) ? c : ' ');
+        }
+        return sb.toString().trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Extracts the trigrams of a normalized string; each word is padded with
+     * two leading and one trailing space, as pg_trgm does.
+     */
+    public static Set<String> of(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Jaccard similarity of two trigram sets, equivalent to pg_trgm's similarity().
+     */
+    public static double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = a.size() <= b.size() ? a : b;
+        Set<String> larger = smaller == a ? b : a;
+        int shared = 0;
+        for (String trigram : smaller) {
+            if (larger.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+}
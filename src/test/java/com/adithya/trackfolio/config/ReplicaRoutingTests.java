@@ -0,0 +1,127 @@
+package com.adithya.trackfolio.config;
+
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.SkillMatchService;
+import com.adithya.trackfolio.service.SkillService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The test replica is a second pool on the same H2 database, so routing is observed through
+ * the per-target read counters and the per-pool Hikari metrics.
+ */
+@SpringBootTest(properties = "app.datasource.replica.sticky-window=PT1S")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private SkillService skillService;
+    @Autowired
+    private SkillMatchService skillMatchService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        String email = "replica." + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        userRepository.save(User.builder().email(email).name("Replica").password("x").build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaPool() {
+        double before = reads("replica");
+
+        skillService.getSkills();
+
+        assertThat(reads("replica")).isEqualTo(before + 1);
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "replica").gauge()).isNotNull();
+    }
+
+    @Test
+    void readsStickToThePrimaryRightAfterAWrite() throws InterruptedException {
+        skillService.saveSkills(List.of("java", "sql"));
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+
+        assertThat(skillService.getSkills()).containsExactlyInAnyOrder("java", "sql");
+        assertThat(reads("primary")).isEqualTo(primaryBefore + 1);
+        assertThat(reads("replica")).isEqualTo(replicaBefore);
+
+        Thread.sleep(1200);
+        skillService.getSkills();
+        assertThat(reads("replica")).isEqualTo(replicaBefore + 1);
+    }
+
+    @Test
+    void firstRequestAfterSignupIsAuthenticatedOnThePrimary() throws Exception {
+        // MockMvc requests run with the test security context, which setUp authenticated
+        TestSecurityContextHolder.clearContext();
+        String email = "signup." + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        String body = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Signup\",\"email\":\"" + email + "\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = JsonPath.read(body, "$.accessToken");
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+
+        // The JwtFilter lookup would be a 401 on a replica that has not seen the signup yet
+        mockMvc.perform(get("/user/skills").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        assertThat(reads("replica")).isEqualTo(replicaBefore);
+        assertThat(reads("primary")).isGreaterThan(primaryBefore);
+    }
+
+    @Test
+    void cacheFillsReadThePrimary() {
+        double replicaBefore = reads("replica");
+        double primaryBefore = reads("primary");
+
+        // The request itself reads the replica; the user's skills for the cached matcher come from the primary
+        skillMatchService.matchDrives();
+        assertThat(reads("replica")).isEqualTo(replicaBefore + 1);
+        assertThat(reads("primary")).isEqualTo(primaryBefore + 1);
+
+        skillMatchService.matchDrives();
+        assertThat(reads("replica")).isEqualTo(replicaBefore + 2);
+        assertThat(reads("primary")).isEqualTo(primaryBefore + 1);
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("trackfolio.datasource.reads").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,117 @@
+package com.adithya.trackfolio.controller;
+
+import com.adithya.trackfolio.entity.JD;
+import com.adithya.trackfolio.entity.Skill;
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.JDRepository;
+import com.adithya.trackfolio.repository.SkillRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.security.JwtUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /chat/stream against a stub AI core: lookups through R2DBC, answer streamed as SSE.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ChatStreamTests {
+
+    private static final String EMAIL = "stream.user@gmail.com";
+    private static final long DRIVE_ID = 4242L;
+
+    private static final AtomicReference<String> receivedPrompt = new AtomicReference<>();
+    private static final HttpServer aiCore = startAiCore();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private JDRepository jdRepository;
+
+    @DynamicPropertySource
+    static void aiCoreUrl(DynamicPropertyRegistry registry) {
+        registry.add("aicore.url", () -> "http://localhost:" + aiCore.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopAiCore() {
+        aiCore.stop(0);
+    }
+
+    @Test
+    void streamsAnswerBuiltFromReactiveLookups() throws Exception {
+        User user = userRepository.save(User.builder().email(EMAIL).name("Stream").password("x").build());
+        Skill skill = new Skill();
+        skill.setUserId(user.getId());
+        skill.setSkill("kotlin");
+        skillRepository.save(skill);
+        JD jd = new JD();
+        jd.setDriveId(DRIVE_ID);
+        jd.setJdText("Backend engineer, payments team");
+        jdRepository.save(jd);
+
+        MvcResult result = mockMvc.perform(post("/chat/stream")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(EMAIL, false))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"driveId\":" + DRIVE_ID + ",\"question\":\"What should I revise?\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("data:Revise idempotency.\n\ndata:Practice SQL joins.\n\n"));
+
+        assertThat(receivedPrompt.get())
+                .contains("kotlin")
+                .contains("Backend engineer, payments team")
+                .contains("What should I revise?");
+    }
+
+    private static HttpServer startAiCore() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/prompt/userPrompt", exchange -> {
+                receivedPrompt.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write("Revise idempotency.\nPractice SQL joins.\n".getBytes(StandardCharsets.UTF_8));
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
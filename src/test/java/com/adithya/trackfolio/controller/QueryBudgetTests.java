@@ -0,0 +1,84 @@
+package com.adithya.trackfolio.controller;
+
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.security.JwtUtil;
+import com.adithya.trackfolio.service.SkillService;
+import com.adithya.trackfolio.support.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    private static final String EMAIL = "budget.user@gmail.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SkillService skillService;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmail(EMAIL).isEmpty()) {
+            userRepository.save(User.builder().email(EMAIL).name("Budget").password("x").build());
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+            skillService.saveSkills(List.of("java", "sql", "docker"));
+            TestSecurityContextHolder.clearContext();
+        }
+        bearer = "Bearer " + jwtUtil.generateToken(EMAIL, false);
+    }
+
+    @Test
+    void listingSkillsStaysWithinBudget() throws Exception {
+        // user lookup in JwtFilter, user lookup in the service, skills
+        mockMvc.perform(get("/user/skills").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3));
+    }
+
+    @Test
+    void savingSkillsCountsJdbcTemplateStatements() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(EMAIL, null, List.of()));
+        skillService.saveSkills(List.of("java", "sql", "docker"));
+        TestSecurityContextHolder.clearContext();
+
+        // user lookups in JwtFilter and the service, skills, then the JdbcTemplate delete and insert
+        mockMvc.perform(post("/user/skills")
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skills\":[\"java\",\"kotlin\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.exactly(5));
+    }
+
+    @Test
+    void listingDrivesStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/drives/date").param("date", "2025-01-15").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.atMost(3));
+    }
+}
@@ -0,0 +1,66 @@
+package com.adithya.trackfolio.security;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "app.admission.retry-after=PT2S"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class AdmissionControlFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Test
+    void bulkRequestsAreShedBeforeReadsWhenThePoolIsBusy() throws Exception {
+        List<Connection> held = new ArrayList<>();
+        try {
+            // 9 of 10 connections busy: load 0.9 is past the bulk threshold but not the read one
+            for (int i = 0; i < 9; i++) {
+                held.add(primaryDataSource.getConnection());
+            }
+
+            mockMvc.perform(chat())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(result -> assertThat(Long.parseLong(result.getResponse().getHeader("Retry-After"))).isBetween(2L, 4L));
+
+            mockMvc.perform(get("/test")).andExpect(status().isUnauthorized());
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        mockMvc.perform(chat()).andExpect(status().isUnauthorized());
+    }
+
+    private static MockHttpServletRequestBuilder chat() {
+        return post("/chat/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"driveId\":1,\"question\":\"hi\"}");
+    }
+}
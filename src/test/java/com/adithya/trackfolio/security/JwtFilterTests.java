@@ -0,0 +1,51 @@
+package com.adithya.trackfolio.security;
+
+import com.adithya.trackfolio.dto.AuthResponse;
+import com.adithya.trackfolio.dto.RegisterRequest;
+import com.adithya.trackfolio.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class JwtFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void refreshTokenIsNotAcceptedAsAccessToken() throws Exception {
+        RegisterRequest register = new RegisterRequest("Bearer", "bearer.user@gmail.com", "secret");
+        AuthResponse tokens = authService.register(register);
+
+        mockMvc.perform(get("/user/skills").header("Authorization", "Bearer " + tokens.getAccessToken()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/user/skills").header("Authorization", "Bearer " + tokens.getRefreshToken()))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void legacyRefreshTokenIsNotAcceptedAsAccessToken() throws Exception {
+        RegisterRequest register = new RegisterRequest("Legacy", "legacy.user@gmail.com", "secret");
+        authService.register(register);
+
+        // Refresh tokens from before per-device sessions: no sid, valid for 7 days
+        String legacy = jwtUtil.generateToken(register.getEmail(), true);
+        mockMvc.perform(get("/user/skills").header("Authorization", "Bearer " + legacy))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/user/skills").header("Authorization", "Bearer " + jwtUtil.generateToken(register.getEmail(), false)))
+                .andExpect(status().isOk());
+    }
+}
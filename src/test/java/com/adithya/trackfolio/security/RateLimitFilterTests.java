@@ -0,0 +1,52 @@
+package com.adithya.trackfolio.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.routes[0].path=/auth/login",
+        "app.rate-limit.routes[0].key=ip",
+        "app.rate-limit.routes[0].capacity=3",
+        "app.rate-limit.routes[0].period=PT1M"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginIsLimitedPerClientIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login("10.0.0.1")).andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "20"));
+
+        // Another client still has its own bucket
+        mockMvc.perform(login("10.0.0.2")).andExpect(status().isUnauthorized());
+    }
+
+    private static MockHttpServletRequestBuilder login(String ip) {
+        return post("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@gmail.com\",\"password\":\"secret\"}");
+    }
+}
@@ -0,0 +1,108 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.*;
+import com.adithya.trackfolio.repository.*;
+import com.adithya.trackfolio.support.StatementCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.purge.enabled=true",
+        "app.purge.chunk-size=5",
+        "app.purge.throttle=PT0.001S"
+})
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+class AccountPurgeServiceTests {
+
+    private static final int CHUNK_SIZE = 5;
+    private static final int SKILLS = 12;
+    private static final int DRIVES = 8;
+
+    @Autowired
+    private AccountPurgeService purgeService;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private DriveRepository driveRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void interruptedPurgeResumesInBoundedChunks() {
+        Long userId = seedDeletedUser("purged.user@gmail.com");
+        double skillRowsBefore = purgedRows("user_skills");
+        double driveRowsBefore = purgedRows("drive_summary");
+        double accountsBefore = meterRegistry.get("trackfolio.purge.accounts").counter().count();
+
+        // Stands in for a shutdown: the pause after the first non-empty chunk is interrupted
+        statementCounter.reset();
+        Thread.currentThread().interrupt();
+        purgeService.purgeDeletedAccounts();
+        assertThat(Thread.interrupted()).isTrue();
+
+        assertThat(userRepository.findById(userId)).isPresent();
+        assertThat(skillRepository.findByUserId(userId)).hasSize(SKILLS - CHUNK_SIZE);
+        assertThat(purgedRows("user_skills")).isEqualTo(skillRowsBefore + CHUNK_SIZE);
+
+        // The next run picks the account up again and finishes it
+        purgeService.purgeDeletedAccounts();
+
+        assertThat(userRepository.findById(userId)).isEmpty();
+        assertThat(skillRepository.findByUserId(userId)).isEmpty();
+        assertThat(driveRepository.findByUserId(userId)).isEmpty();
+        assertThat(statementCounter.largestUpdate()).isLessThanOrEqualTo(CHUNK_SIZE);
+        // At least one transaction per chunk: 12 skills, 16 notes, 8 drives, then the user row
+        assertThat(statementCounter.commits()).isGreaterThanOrEqualTo(3 + 4 + 2 + 1);
+
+        assertThat(purgedRows("user_skills")).isEqualTo(skillRowsBefore + SKILLS);
+        assertThat(purgedRows("drive_summary")).isEqualTo(driveRowsBefore + DRIVES);
+        assertThat(meterRegistry.get("trackfolio.purge.accounts").counter().count()).isEqualTo(accountsBefore + 1);
+        assertThat(meterRegistry.get("trackfolio.purge.pending").gauge().value())
+                .isEqualTo(userRepository.countByDeletedAtIsNotNull());
+    }
+
+    private double purgedRows(String table) {
+        return meterRegistry.get("trackfolio.purge.rows").tag("table", table).counter().count();
+    }
+
+    private Long seedDeletedUser(String email) {
+        User user = userRepository.save(User.builder().email(email).name("Purged").password("x").build());
+        skillRepository.saveAll(IntStream.range(0, SKILLS).mapToObj(i -> new Skill(user.getId(), "skill" + i)).toList());
+
+        for (int i = 0; i < DRIVES; i++) {
+            DriveSummary drive = driveRepository.save(DriveSummary.builder()
+                    .userId(user.getId())
+                    .companyName("Company " + i)
+                    .role("Engineer")
+                    .driveDatetime(LocalDateTime.now().plusDays(i))
+                    .build());
+            noteRepository.saveAll(List.of(
+                    Note.builder().content("note a").drive(drive).build(),
+                    Note.builder().content("note b").drive(drive).build()));
+        }
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> userRepository.markDeleted(user.getId(), LocalDateTime.now()));
+        return user.getId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.*;
+import com.adithya.trackfolio.repository.*;
+import com.adithya.trackfolio.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+class AuthServiceDeleteAccountTests {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriveRepository driveRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private ChecklistRepository checklistRepository;
+    @Autowired
+    private JDRepository jdRepository;
+    @Autowired
+    private SkillRepository skillRepository;
+
+    @Test
+    void deleteAccountUsesConstantNumberOfStatements() {
+        int withOneDrive = deleteAccountWithDrives("one.drive@gmail.com", 1);
+        int withManyDrives = deleteAccountWithDrives("many.drives@gmail.com", 25);
+
+        assertThat(withManyDrives).isEqualTo(withOneDrive);
+        // user lookup + one delete per table (skills, refresh_tokens, jd, notes, checklist, reminder_delivery, drives, user)
+        assertThat(withManyDrives).isLessThanOrEqualTo(9);
+    }
+
+    @Test
+    void deleteAccountKeepsOtherUsersData() {
+        Long otherUserId = seedUser("other.user@gmail.com", 2);
+        deleteAccountWithDrives("leaving.user@gmail.com", 3);
+
+        assertThat(userRepository.findById(otherUserId)).isPresent();
+        List<DriveSummary> drives = driveRepository.findByUserId(otherUserId);
+        assertThat(drives).hasSize(2);
+        assertThat(noteRepository.findByDriveId(drives.get(0).getId())).hasSize(2);
+        assertThat(jdRepository.findByDriveId(drives.get(0).getId())).isPresent();
+    }
+
+    private int deleteAccountWithDrives(String email, int driveCount) {
+        Long userId = seedUser(email, driveCount);
+        List<Long> driveIds = driveRepository.findByUserId(userId).stream().map(DriveSummary::getId).toList();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+        try {
+            int statements = statementCounter.countDuring(authService::deleteAccount);
+
+            assertThat(userRepository.findById(userId)).isEmpty();
+            assertThat(driveRepository.findByUserId(userId)).isEmpty();
+            assertThat(skillRepository.findByUserId(userId)).isEmpty();
+            driveIds.forEach(driveId -> {
+                assertThat(noteRepository.findByDriveId(driveId)).isEmpty();
+                assertThat(checklistRepository.findByDriveId(driveId)).isEmpty();
+                assertThat(jdRepository.findByDriveId(driveId)).isEmpty();
+            });
+            return statements;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Long seedUser(String email, int driveCount) {
+        User user = userRepository.save(User.builder().email(email).name("Test").password("x").build());
+        skillRepository.saveAll(List.of(new Skill(user.getId(), "java"), new Skill(user.getId(), "sql")));
+
+        for (int i = 0; i < driveCount; i++) {
+            DriveSummary drive = driveRepository.save(DriveSummary.builder()
+                    .userId(user.getId())
+                    .companyName("Company " + i)
+                    .role("Engineer")
+                    .driveDatetime(LocalDateTime.now().plusDays(i))
+                    .build());
+
+            noteRepository.saveAll(List.of(
+                    Note.builder().content("note a").drive(drive).build(),
+                    Note.builder().content("note b").drive(drive).build()));
+            checklistRepository.save(Checklist.builder().content("resume").drive(drive).build());
+
+            JD jd = new JD();
+            jd.setDriveId(drive.getId());
+            jd.setJdText("Java developer");
+            jdRepository.save(jd);
+        }
+        return user.getId();
+    }
+}
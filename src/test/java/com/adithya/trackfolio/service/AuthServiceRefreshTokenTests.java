@@ -0,0 +1,78 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.dto.AuthRequest;
+import com.adithya.trackfolio.dto.AuthResponse;
+import com.adithya.trackfolio.dto.RegisterRequest;
+import com.adithya.trackfolio.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+class AuthServiceRefreshTokenTests {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private AuthRequest credentials;
+
+    @BeforeEach
+    void setUp() {
+        String email = "refresh." + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        RegisterRequest register = new RegisterRequest();
+        register.setEmail(email);
+        register.setName("Refresh");
+        register.setPassword("secret");
+        authService.register(register);
+
+        credentials = new AuthRequest();
+        credentials.setEmail(email);
+        credentials.setPassword("secret");
+    }
+
+    @Test
+    void refreshRotatesTokenWithSingleStatement() {
+        String refreshToken = authService.login(credentials).getRefreshToken();
+
+        AuthResponse[] refreshed = new AuthResponse[1];
+        int statements = statementCounter.countDuring(() -> refreshed[0] = authService.generateAccessToken(refreshToken));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(refreshed[0].getRefreshToken()).isNotEqualTo(refreshToken);
+        assertThat(refreshed[0].getUserName()).isEqualTo("Refresh");
+        assertThat(authService.generateAccessToken(refreshed[0].getRefreshToken()).getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void reusingRotatedTokenEndsThatSessionOnly() {
+        String laptop = authService.login(credentials).getRefreshToken();
+        String phone = authService.login(credentials).getRefreshToken();
+
+        String laptopNext = authService.generateAccessToken(laptop).getRefreshToken();
+
+        assertUnauthorized(laptop);
+        // The replay revoked the laptop session, including the token that replaced it
+        assertUnauthorized(laptopNext);
+        assertThat(authService.generateAccessToken(phone).getAccessToken()).isNotBlank();
+    }
+
+    private void assertUnauthorized(String refreshToken) {
+        assertThatThrownBy(() -> authService.generateAccessToken(refreshToken))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+}
@@ -0,0 +1,71 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.service.CacheInvalidationService.Invalidation;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationServiceTests {
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidation;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void remoteNotificationsAreDecodedAndDispatched() {
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        cacheInvalidation.subscribe(Topic.DRIVE, received::add);
+        cacheInvalidation.subscribe(Topic.SKILLS, received::add);
+
+        cacheInvalidation.handle("0a1b2c3d D41.7,S41,x,L41");
+
+        assertThat(received).containsExactly(
+                new Invalidation(Topic.DRIVE, 41, 7L),
+                new Invalidation(Topic.SKILLS, 41, null));
+    }
+
+    @Test
+    void failingSubscriberDoesNotStopLaterInvalidations() {
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        cacheInvalidation.subscribe(Topic.SKILLS, invalidation -> {
+            if (invalidation.userId() == 99) {
+                throw new IllegalStateException("cache is broken");
+            }
+            received.add(invalidation);
+        });
+
+        cacheInvalidation.handle("0a1b2c3d S99,S98");
+
+        assertThat(received).containsExactly(new Invalidation(Topic.SKILLS, 98, null));
+    }
+
+    @Test
+    void localEvictionWaitsForCommit() {
+        List<Invalidation> received = new CopyOnWriteArrayList<>();
+        cacheInvalidation.subscribe(Topic.USER, received::add);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cacheInvalidation.invalidate(Topic.USER, 42L);
+            assertThat(received).isEmpty();
+        });
+        assertThat(received).containsExactly(new Invalidation(Topic.USER, 42, null));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cacheInvalidation.invalidate(Topic.USER, 43L);
+            status.setRollbackOnly();
+        });
+        assertThat(received).hasSize(1);
+    }
+}
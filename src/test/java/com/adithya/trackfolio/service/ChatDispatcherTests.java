@@ -0,0 +1,85 @@
+package com.adithya.trackfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChatDispatcherTests {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @Test
+    void busyUserDoesNotStarveOthers() throws Exception {
+        ChatDispatcher dispatcher = new ChatDispatcher(1, 100, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+
+        // Occupies the only slot
+        Future<?> first = callers.submit(() -> dispatcher.submit(1L, () -> {
+            running.countDown();
+            await(unblock);
+            return order.add("a0");
+        }));
+        running.await();
+
+        // User 1 queues five calls, then user 2 asks once
+        for (int i = 1; i <= 5; i++) {
+            String name = "a" + i;
+            callers.submit(() -> dispatcher.submit(1L, () -> order.add(name)));
+            waitForQueue(dispatcher, i);
+        }
+        Future<?> other = callers.submit(() -> dispatcher.submit(2L, () -> order.add("b1")));
+        waitForQueue(dispatcher, 6);
+
+        unblock.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        other.get(5, TimeUnit.SECONDS);
+
+        // User 2 is served right after user 1's first queued call, not after all five
+        assertThat(order.indexOf("b1")).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void callsWaitingPastTheDeadlineAreDropped() throws Exception {
+        ChatDispatcher dispatcher = new ChatDispatcher(1, 100, Duration.ofMillis(100), new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        Future<?> first = callers.submit(() -> dispatcher.submit(1L, () -> {
+            running.countDown();
+            return await(unblock);
+        }));
+        running.await();
+
+        assertThatThrownBy(() -> dispatcher.submit(2L, () -> "never"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        unblock.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        // The slot is free again
+        assertThat(dispatcher.submit(2L, () -> "ok")).isEqualTo("ok");
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitForQueue(ChatDispatcher dispatcher, int size) throws InterruptedException {
+        for (int i = 0; i < 500 && dispatcher.queued() < size; i++) {
+            Thread.sleep(5);
+        }
+    }
+}
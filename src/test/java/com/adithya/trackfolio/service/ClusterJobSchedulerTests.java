@@ -0,0 +1,66 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.ClusterJob;
+import com.adithya.trackfolio.repository.ClusterJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClusterJobSchedulerTests {
+
+    @Autowired
+    private ClusterJobScheduler scheduler;
+
+    @Autowired
+    private ClusterJobRepository jobRepository;
+
+    @Test
+    void jobRunsOncePerPeriodAndRecordsItsState() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.register("test-counter", ClusterJobScheduler.Schedule.parse("PT1H"), runs::incrementAndGet);
+
+        assertThat(scheduler.runIfDue("test-counter")).isTrue();
+        assertThat(scheduler.runIfDue("test-counter")).isFalse();
+        assertThat(runs).hasValue(1);
+
+        ClusterJob state = jobRepository.findById("test-counter").orElseThrow();
+        assertThat(state.getLastStatus()).isEqualTo("SUCCESS");
+        assertThat(state.getNextRunAt()).isAfter(LocalDateTime.now().plus(Duration.ofMinutes(59)));
+    }
+
+    @Test
+    void failedRunIsRecordedAndRescheduled() {
+        scheduler.register("test-failing", ClusterJobScheduler.Schedule.parse("0 0 * * * *"), () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(scheduler.runIfDue("test-failing")).isTrue();
+
+        ClusterJob state = jobRepository.findById("test-failing").orElseThrow();
+        assertThat(state.getLastStatus()).isEqualTo("FAILURE");
+        assertThat(state.getLastError()).contains("boom");
+        assertThat(state.getNextRunAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    void jobsWithCollidingLockKeysAreRejected() {
+        // "Aa" and "BB" share a String hash code
+        scheduler.register("test-Aa", ClusterJobScheduler.Schedule.parse("PT1H"), () -> {
+        });
+
+        assertThatThrownBy(() -> scheduler.register("test-BB", ClusterJobScheduler.Schedule.parse("PT1H"), () -> {
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("test-Aa");
+        assertThatThrownBy(() -> scheduler.register("test-Aa", ClusterJobScheduler.Schedule.parse("PT1H"), () -> {
+        })).isInstanceOf(IllegalStateException.class).hasMessageContaining("already registered");
+    }
+}
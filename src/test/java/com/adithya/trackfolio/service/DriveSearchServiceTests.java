@@ -0,0 +1,80 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.dto.DriveResponseDTO;
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2 has no pg_trgm, so this covers the in-memory fallback, which ranks like the SQL query
+@SpringBootTest
+@ActiveProfiles("test")
+class DriveSearchServiceTests {
+
+    @Autowired
+    private DriveSearchService driveSearchService;
+    @Autowired
+    private DriveRepository driveRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        String email = "search." + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        User user = userRepository.save(User.builder().email(email).name("Search").password("x").build());
+        drive(user, "J.P. Morgan", "Analyst");
+        drive(user, "Morgan Stanley", "SDE");
+        drive(user, "Google", "Backend Engineer");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void punctuationInCompanyNamesDoesNotBlockPrefixMatches() {
+        assertThat(companies("j.p.")).containsExactly("J.P. Morgan");
+        assertThat(companies("J P Mor")).containsExactly("J.P. Morgan");
+    }
+
+    @Test
+    void prefixMatchesRankAboveFuzzyMatches() {
+        assertThat(companies("morgan")).containsExactly("Morgan Stanley", "J.P. Morgan");
+        assertThat(companies("backend")).containsExactly("Google");
+    }
+
+    @Test
+    void misspelledQueriesStillMatch() {
+        assertThat(companies("gogle")).containsExactly("Google");
+        assertThat(companies("zzz")).isEmpty();
+    }
+
+    private List<String> companies(String query) {
+        return driveSearchService.suggest(query, 10).stream().map(DriveResponseDTO::getCompanyName).toList();
+    }
+
+    private void drive(User user, String company, String role) {
+        driveRepository.save(DriveSummary.builder()
+                .userId(user.getId())
+                .companyName(company)
+                .role(role)
+                .driveDatetime(LocalDateTime.now().plusDays(7))
+                .build());
+    }
+}
@@ -0,0 +1,147 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.dto.ChecklistDTO;
+import com.adithya.trackfolio.dto.DriveRequestDTO;
+import com.adithya.trackfolio.dto.NoteDTO;
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.entity.Note;
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.NoteRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+class DriveServiceSaveTests {
+
+    private static final int TABS = 8;
+
+    @Autowired
+    private DriveService driveService;
+    @Autowired
+    private DriveRepository driveRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private String email;
+    private DriveSummary drive;
+
+    @BeforeEach
+    void setUp() {
+        email = "drive." + UUID.randomUUID().toString().substring(0, 8) + "@gmail.com";
+        User user = userRepository.save(User.builder().email(email).name("Drive").password("x").build());
+        authenticate();
+        driveService.saveDrive(request(null, "initial"));
+        drive = driveRepository.findByUserId(user.getId()).get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void updateCommitsOnce() {
+        DriveRequestDTO update = request(drive.getId(), "updated");
+
+        statementCounter.reset();
+        driveService.saveDrive(update);
+
+        // drive, notes and checklists used to commit separately
+        assertThat(statementCounter.commits()).isEqualTo(1);
+        assertThat(driveRepository.findById(drive.getId()).orElseThrow().getVersion()).isGreaterThan(drive.getVersion());
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        DriveRequestDTO first = request(drive.getId(), "first tab");
+        first.setVersion(drive.getVersion());
+        driveService.saveDrive(first);
+
+        DriveRequestDTO second = request(drive.getId(), "second tab");
+        second.setVersion(drive.getVersion());
+        assertThatThrownBy(() -> driveService.saveDrive(second))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+
+        assertThat(noteRepository.findByDriveId(drive.getId())).extracting(Note::getContent)
+                .allMatch(content -> content.startsWith("first tab"));
+    }
+
+    @Test
+    void concurrentSavesNeverDuplicateNotes() throws Exception {
+        ExecutorService tabs = Executors.newFixedThreadPool(TABS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = IntStream.range(0, TABS)
+                .mapToObj(tab -> tabs.submit(() -> {
+                    authenticate();
+                    start.await();
+                    try {
+                        driveService.saveDrive(request(drive.getId(), "tab " + tab));
+                        return true;
+                    } catch (ConcurrencyFailureException e) {
+                        return false;
+                    }
+                }))
+                .toList();
+        start.countDown();
+
+        int saved = 0;
+        for (Future<Boolean> result : results) {
+            saved += result.get(30, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        tabs.shutdown();
+
+        List<String> notes = noteRepository.findByDriveId(drive.getId()).stream().map(Note::getContent).toList();
+        String winner = notes.get(0).substring(0, notes.get(0).indexOf(" note"));
+        assertThat(saved).isPositive();
+        assertThat(notes).hasSize(3).allMatch(content -> content.startsWith(winner + " note"));
+        assertThat(driveRepository.findById(drive.getId()).orElseThrow().getVersion()).isGreaterThan(drive.getVersion());
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private static DriveRequestDTO request(Long driveId, String label) {
+        List<NoteDTO> notes = IntStream.range(0, 3)
+                .mapToObj(i -> NoteDTO.builder().content(label + " note " + i).build())
+                .toList();
+        List<ChecklistDTO> checklists = IntStream.range(0, 2)
+                .mapToObj(i -> ChecklistDTO.builder().content(label + " item " + i).build())
+                .toList();
+        return new DriveRequestDTO(driveId != null, driveId, "Acme", "Backend", LocalDateTime.now().plusDays(3),
+                true, notes, checklists, null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.adithya.trackfolio.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTests {
+
+    @Test
+    void hashesWithAnotherCostNeedRehash() {
+        PasswordHashingService hashing = service(6, 1, 10);
+
+        String current = hashing.encode("secret");
+        String older = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertThat(hashing.matches("secret", older)).isTrue();
+        assertThat(hashing.needsRehash(current)).isFalse();
+        assertThat(hashing.needsRehash(older)).isTrue();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        PasswordHashingService hashing = service(12, 1, 1);
+
+        ExecutorService requests = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<String>> spike = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            spike.add(CompletableFuture.supplyAsync(() -> hashing.encode("secret"), requests));
+        }
+
+        assertThatThrownBy(() -> CompletableFuture.allOf(spike.toArray(CompletableFuture[]::new)).join())
+                .hasCauseInstanceOf(ResponseStatusException.class);
+    }
+
+    private static PasswordHashingService service(int strength, int threads, int queueSize) {
+        return new PasswordHashingService(new BCryptPasswordEncoder(strength), strength, threads, queueSize,
+                Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,104 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.DriveSummary;
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.DriveRepository;
+import com.adithya.trackfolio.repository.ReminderDeliveryRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "app.reminders.enabled=true")
+@ActiveProfiles("test")
+class ReminderServiceTests {
+
+    @Autowired
+    private ReminderService reminderService;
+    @Autowired
+    private CacheInvalidationService cacheInvalidation;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DriveRepository driveRepository;
+    @Autowired
+    private ReminderDeliveryRepository deliveryRepository;
+
+    @Test
+    void driveChangesUpdateTheWheel() {
+        User user = seedUser("wheel.user@gmail.com");
+        DriveSummary drive = seedDrive(user, LocalDateTime.now().plusHours(2));
+
+        cacheInvalidation.invalidate(Topic.DRIVES, user.getId());
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> reminderService.isScheduled(drive.getId(), Duration.ofHours(1)));
+        // A day before the drive is already past
+        assertThat(reminderService.isScheduled(drive.getId(), Duration.ofHours(24))).isFalse();
+
+        driveRepository.deleteById(drive.getId());
+        cacheInvalidation.invalidate(Topic.DRIVES, user.getId());
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> !reminderService.isScheduled(drive.getId(), Duration.ofHours(1)));
+    }
+
+    @Test
+    void dueReminderIsDeliveredOnceOnConnect() {
+        User user = seedUser("offline.user@gmail.com");
+        DriveSummary drive = seedDrive(user, LocalDateTime.now().plusMinutes(30));
+
+        reminderService.connect(user.getEmail());
+        await().atMost(Duration.ofSeconds(5)).until(() -> deliveryCount(drive) == 1);
+
+        // Reconnecting, or another instance, does not deliver it again
+        reminderService.connect(user.getEmail());
+        await().during(Duration.ofMillis(300)).atMost(Duration.ofSeconds(2)).until(() -> deliveryCount(drive) == 1);
+        assertThat(deliveryRepository.findAll()).filteredOn(r -> r.getDriveId().equals(drive.getId()))
+                .singleElement()
+                .satisfies(r -> assertThat(r.getFireAt()).isEqualTo(
+                        driveRepository.findById(drive.getId()).orElseThrow().getDriveDatetime().minusHours(1)));
+    }
+
+    @Test
+    void failedSendReleasesTheClaim() {
+        User user = seedUser("gone.user@gmail.com");
+        // A stream that went away without its completion callback ever running
+        reminderService.connect(user.getEmail()).complete();
+        DriveSummary drive = seedDrive(user, LocalDateTime.now().plusHours(1).plusSeconds(2));
+
+        cacheInvalidation.invalidate(Topic.DRIVES, user.getId());
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> reminderService.isScheduled(drive.getId(), Duration.ofHours(1)));
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> !reminderService.isScheduled(drive.getId(), Duration.ofHours(1)));
+        await().during(Duration.ofMillis(500)).atMost(Duration.ofSeconds(2)).until(() -> deliveryCount(drive) == 0);
+
+        // The next connect still gets it
+        reminderService.connect(user.getEmail());
+        await().atMost(Duration.ofSeconds(5)).until(() -> deliveryCount(drive) == 1);
+    }
+
+    private long deliveryCount(DriveSummary drive) {
+        return deliveryRepository.findAll().stream().filter(r -> r.getDriveId().equals(drive.getId())).count();
+    }
+
+    private User seedUser(String email) {
+        return userRepository.save(User.builder().email(email).name("Test").password("x").build());
+    }
+
+    private DriveSummary seedDrive(User user, LocalDateTime at) {
+        return driveRepository.save(DriveSummary.builder()
+                .userId(user.getId())
+                .companyName("Acme")
+                .role("Engineer")
+                .driveDatetime(at)
+                .build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.SkillRepository;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.service.CacheInvalidationService.Topic;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SkillDictionaryServiceTests {
+
+    @Autowired
+    private SkillDictionaryService skillDictionary;
+    @Autowired
+    private CacheInvalidationService cacheInvalidation;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void popularityFollowsChangesFromAnyInstance() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long userId = userRepository.save(User.builder().email("zig" + i + "@gmail.com").name("Zig").password("x").build()).getId();
+            userIds.add(userId);
+            // Written by another instance: only the invalidation reaches this one
+            transaction.executeWithoutResult(status -> skillRepository.insertIgnoringDuplicates(userId, List.of("zig")));
+            cacheInvalidation.invalidate(Topic.SKILLS, userId);
+        }
+        skillDictionary.refreshTrie();
+        assertThat(skillDictionary.suggest("zi", 5)).contains("zig");
+
+        // A tombstoned account stops counting before it is purged
+        transaction.executeWithoutResult(status -> userRepository.markDeleted(userIds.get(0), LocalDateTime.now()));
+        cacheInvalidation.invalidate(Topic.USER, userIds.get(0));
+        skillDictionary.refreshTrie();
+        assertThat(skillDictionary.suggest("zi", 5)).doesNotContain("zig");
+    }
+}
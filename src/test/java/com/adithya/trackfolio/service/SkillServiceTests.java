@@ -0,0 +1,79 @@
+package com.adithya.trackfolio.service;
+
+import com.adithya.trackfolio.entity.User;
+import com.adithya.trackfolio.repository.UserRepository;
+import com.adithya.trackfolio.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCounter.Config.class)
+@WithMockUser(username = SkillServiceTests.EMAIL)
+class SkillServiceTests {
+
+    static final String EMAIL = "skills.user@gmail.com";
+
+    @Autowired
+    private SkillService skillService;
+    @Autowired
+    private StatementCounter statementCounter;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<String> fortySkills = IntStream.range(0, 40).mapToObj(i -> "skill-" + i).toList();
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmail(EMAIL).isEmpty()) {
+            userRepository.save(User.builder().email(EMAIL).name("Skills").password("x").build());
+        }
+        skillService.saveSkills(fortySkills);
+    }
+
+    @Test
+    void addingOneSkillCostsConstantStatements() {
+        List<String> withOneMore = new ArrayList<>(fortySkills);
+        withOneMore.add("kotlin");
+
+        int statements = statementCounter.countDuring(() -> skillService.saveSkills(withOneMore));
+
+        // user lookup, read of the stored set, one insert
+        assertThat(statements).isEqualTo(3);
+        assertThat(skillService.getSkills()).hasSize(41).contains("kotlin");
+    }
+
+    @Test
+    void replacingSkillsUsesOneInsertAndOneDelete() {
+        List<String> replaced = new ArrayList<>(fortySkills.subList(10, 40));
+        replaced.addAll(List.of("Rust ", "go", "GO"));
+
+        int statements = statementCounter.countDuring(() -> skillService.saveSkills(replaced));
+
+        // user lookup, read of the stored set, one delete, one insert
+        assertThat(statements).isEqualTo(4);
+        assertThat(skillService.getSkills())
+                .hasSize(32)
+                .contains("rust", "go")
+                .doesNotContain("skill-0", "skill-9");
+    }
+
+    @Test
+    void resavingSameSkillsWritesNothing() {
+        int statements = statementCounter.countDuring(() -> skillService.saveSkills(fortySkills));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(skillService.getSkills()).hasSize(40);
+    }
+}
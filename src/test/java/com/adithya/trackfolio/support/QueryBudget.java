@@ -0,0 +1,37 @@
+package com.adithya.trackfolio.support;
+
+import com.adithya.trackfolio.config.QueryBudgetFilter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers for per-endpoint SQL statement budgets, based on the
+ * {@value QueryBudgetFilter#COUNT_HEADER} header (enabled in the test profile).
+ * <pre>
+ * mockMvc.perform(get("/user/skills").header(...))
+ *        .andExpect(QueryBudget.atMost(2));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> assertThat(count(result.getResponse().getHeader(QueryBudgetFilter.COUNT_HEADER)))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(statements);
+    }
+
+    public static ResultMatcher exactly(int statements) {
+        return result -> assertThat(count(result.getResponse().getHeader(QueryBudgetFilter.COUNT_HEADER)))
+                .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(statements);
+    }
+
+    private static int count(String header) {
+        assertThat(header).as(QueryBudgetFilter.COUNT_HEADER + " header").isNotNull();
+        return Integer.parseInt(header);
+    }
+}
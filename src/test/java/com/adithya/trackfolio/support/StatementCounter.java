@@ -0,0 +1,136 @@
+package com.adithya.trackfolio.support;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts every JDBC statement execution that goes through the application's DataSource.
+ * A JDBC batch counts as a single execution, matching the single round trip it costs.
+ * Commits are counted separately.
+ * Import it into a test with {@code @Import(StatementCounter.Config.class)}.
+ */
+public class StatementCounter {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> UPDATE_METHODS = Set.of("executeUpdate", "executeLargeUpdate");
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicLong largestUpdate = new AtomicLong();
+
+    public void reset() {
+        executions.set(0);
+        commits.set(0);
+        largestUpdate.set(0);
+    }
+
+    public int count() {
+        return executions.get();
+    }
+
+    public int commits() {
+        return commits.get();
+    }
+
+    /**
+     * @return the most rows changed by a single executeUpdate since the last reset
+     */
+    public long largestUpdate() {
+        return largestUpdate.get();
+    }
+
+    /**
+     * Runs the action and returns the number of statements it executed.
+     */
+    public int countDuring(Runnable action) {
+        reset();
+        action.run();
+        return count();
+    }
+
+    private DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) ->
+                result instanceof Connection c ? proxy(Connection.class, c, this::wrapStatements) : result);
+    }
+
+    private Object wrapStatements(Method method, Object result) {
+        if (method.getName().equals("commit")) {
+            commits.incrementAndGet();
+        }
+        if (result instanceof Statement statement) {
+            Class<? extends Statement> type = switch (method.getName()) {
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                default -> Statement.class;
+            };
+            return proxy(type, statement, (m, r) -> {
+                if (EXECUTE_METHODS.contains(m.getName())) {
+                    executions.incrementAndGet();
+                }
+                if (UPDATE_METHODS.contains(m.getName()) && r instanceof Number rows) {
+                    largestUpdate.accumulateAndGet(rows.longValue(), Math::max);
+                }
+                return r;
+            });
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, ResultMapper mapper) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args != null && args[0] instanceof Class<?> c && c.isInstance(target)) {
+                return target;
+            }
+            try {
+                return mapper.map(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    @FunctionalInterface
+    private interface ResultMapper {
+        Object map(Method method, Object result) throws Throwable;
+    }
+
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return counter.getObject().wrap(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.adithya.trackfolio.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracerTests {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void sampledFlagOfClientsIsIgnored() throws Exception {
+        Tracer tracer = tracer(0.0);
+
+        assertThat(tracer.startRoot("GET /drives", TRACEPARENT)).isNull();
+    }
+
+    @Test
+    void sampledRequestsKeepTheIncomingIds() throws Exception {
+        Tracer tracer = tracer(1.0);
+
+        Span span = tracer.startRoot("GET /drives", TRACEPARENT.replace("-01", "-00"));
+        assertThat(span.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(span.getParentId()).isEqualTo("00f067aa0ba902b7");
+        tracer.end(span);
+
+        Span fresh = tracer.startRoot("GET /drives", "00-" + "0".repeat(32) + "-00f067aa0ba902b7-01");
+        assertThat(fresh.getTraceId()).isNotEqualTo("0".repeat(32)).hasSize(32);
+        assertThat(fresh.getParentId()).isNull();
+        tracer.end(fresh);
+    }
+
+    private Tracer tracer(double sampleRate) throws Exception {
+        Tracer tracer = new Tracer(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+        ReflectionTestUtils.setField(tracer, "sampleRate", sampleRate);
+        ReflectionTestUtils.setField(tracer, "bufferSize", 16);
+        ReflectionTestUtils.setField(tracer, "file", "");
+        tracer.init();
+        return tracer;
+    }
+}
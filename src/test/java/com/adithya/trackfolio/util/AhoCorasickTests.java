@@ -0,0 +1,35 @@
+package com.adithya.trackfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTests {
+
+    @Test
+    void findsEveryGroupInOnePass() {
+        AhoCorasick automaton = AhoCorasick.build(Map.of("java", 0, "spring boot", 1, "sql", 2, "postgresql", 2));
+
+        assertThat(automaton.matchGroups("Backend role: Java 21, Spring Boot and PostgreSQL.")).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(automaton.matchGroups("")).isEmpty();
+        assertThat(automaton.matchGroups(null)).isEmpty();
+    }
+
+    @Test
+    void matchesOnlyWholeWords() {
+        AhoCorasick automaton = AhoCorasick.build(Map.of("java", 0, "go", 1));
+
+        assertThat(automaton.matchGroups("JavaScript, MongoDB and Google")).isEmpty();
+        assertThat(automaton.matchGroups("go/java")).containsExactlyInAnyOrder(0, 1);
+    }
+
+    @Test
+    void overlappingPatternsAreFoundThroughFailLinks() {
+        AhoCorasick automaton = AhoCorasick.build(Map.of("node.js", 0, "js", 1, "c", 2, "c++", 3, "  ", 4));
+
+        assertThat(automaton.matchGroups("node.js")).containsExactlyInAnyOrder(0, 1);
+        assertThat(automaton.matchGroups("c++ and js")).containsExactlyInAnyOrder(1, 2, 3);
+    }
+}
@@ -0,0 +1,37 @@
+package com.adithya.trackfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    @Test
+    void bucketAllowsItsCapacityThenWaits() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofMinutes(1), 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void newKeysShareOneBucketOnceFull() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofMinutes(1), 2);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        // Rotating keys neither grows the map nor gets a fresh bucket each
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isZero();
+        assertThat(limiter.tryAcquire("e")).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // Known keys keep their own bucket
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+}
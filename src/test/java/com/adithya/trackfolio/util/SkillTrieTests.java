@@ -0,0 +1,29 @@
+package com.adithya.trackfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillTrieTests {
+
+    private final SkillTrie trie = SkillTrie.build(
+            Map.of("java", "java", "javascript", "javascript", "js", "javascript", "jenkins", "jenkins", "kotlin", "kotlin"),
+            Map.of("javascript", 30L, "java", 20L, "jenkins", 20L),
+            2);
+
+    @Test
+    void completesByPopularityThenName() {
+        assertThat(trie.complete("j", 10)).containsExactly("javascript", "java");
+        assertThat(trie.complete("je", 10)).containsExactly("jenkins");
+        assertThat(trie.complete("x", 10)).isEmpty();
+        assertThat(trie.complete("j", 1)).containsExactly("javascript");
+    }
+
+    @Test
+    void aliasesCompleteToTheirTerm() {
+        assertThat(trie.complete("js", 10)).containsExactly("javascript");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+}
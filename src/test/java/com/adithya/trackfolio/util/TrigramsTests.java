@@ -0,0 +1,36 @@
+package com.adithya.trackfolio.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramsTests {
+
+    @Test
+    void normalizeKeepsOnlyLettersAndDigits() {
+        assertThat(Trigrams.normalize("  J.P. Morgan & Co_ ")).isEqualTo("j p morgan co");
+        assertThat(Trigrams.normalize("SDE-2 (Backend)")).isEqualTo("sde 2 backend");
+        assertThat(Trigrams.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void trigramsArePaddedPerWordLikePgTrgm() {
+        assertThat(Trigrams.of("cat")).containsExactlyInAnyOrder("  c", " ca", "cat", "at ");
+        assertThat(Trigrams.of("a b")).containsExactlyInAnyOrder("  a", " a ", "  b", " b ");
+    }
+
+    @Test
+    void similarityRanksCloserSpellingsHigher() {
+        Set<String> google = Trigrams.of("google");
+
+        double typo = Trigrams.similarity(google, Trigrams.of("gogle"));
+        double unrelated = Trigrams.similarity(google, Trigrams.of("amazon"));
+
+        assertThat(Trigrams.similarity(google, google)).isEqualTo(1.0);
+        assertThat(typo).isGreaterThan(0.3).isLessThan(1.0);
+        assertThat(unrelated).isZero();
+        assertThat(Trigrams.similarity(google, Set.of())).isZero();
+    }
+}